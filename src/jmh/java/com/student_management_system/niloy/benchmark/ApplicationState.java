@@ -0,0 +1,35 @@
+package com.student_management_system.niloy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * The application with generated data, booted once per trial.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    @Param({"2000"})
+    public int students;
+
+    @Param({"50"})
+    public int courses;
+
+    @Param({"20"})
+    public int teachers;
+
+    BenchmarkData data;
+
+    @Setup(Level.Trial)
+    public void start() {
+        data = BenchmarkData.start(students, courses, teachers);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        data.stop();
+    }
+
+    <T> T bean(Class<T> type) {
+        return data.bean(type);
+    }
+}
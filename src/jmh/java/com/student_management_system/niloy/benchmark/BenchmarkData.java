@@ -0,0 +1,125 @@
+package com.student_management_system.niloy.benchmark;
+
+import com.student_management_system.niloy.NiloyApplication;
+import com.student_management_system.niloy.model.*;
+import com.student_management_system.niloy.repository.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application against an in-memory H2 database and fills it with generated
+ * departments, teachers, courses, students and enrollments. Every student starts out
+ * enrolled in {@link #ENROLLED_PER_STUDENT} courses.
+ */
+final class BenchmarkData {
+
+    static final int ENROLLED_PER_STUDENT = 5;
+    static final String PASSWORD = "password123";
+
+    final ConfigurableApplicationContext context;
+    final List<Long> studentIds = new ArrayList<>();
+    final List<Long> courseIds = new ArrayList<>();
+    private long lastSeededEnrollmentId;
+
+    private BenchmarkData(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static BenchmarkData start(int students, int courses, int teachers, String... extraArgs) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Extra arguments replace the defaults with the same key, e.g. a PostgreSQL datasource
+        Set<String> overridden = Stream.of(extraArgs).map(BenchmarkData::key).collect(Collectors.toSet());
+        String[] args = Stream.concat(Stream.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.com.student_management_system=WARN")
+                        .filter(arg -> !overridden.contains(key(arg))), Stream.of(extraArgs))
+                .toArray(String[]::new);
+
+        BenchmarkData data = new BenchmarkData(new SpringApplicationBuilder(NiloyApplication.class).run(args));
+        data.bean(TransactionTemplate.class).executeWithoutResult(status -> data.generate(students, courses, teachers));
+        return data;
+    }
+
+    private static String key(String arg) {
+        int equals = arg.indexOf('=');
+        return equals < 0 ? arg : arg.substring(0, equals);
+    }
+
+    void stop() {
+        context.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /** Removes the enrollments added by a benchmark, restoring the generated data set. */
+    void resetEnrollments() {
+        bean(JdbcTemplate.class).update("delete from enrollments where id > ?", lastSeededEnrollmentId);
+    }
+
+    private void generate(int students, int courses, int teachers) {
+        List<Department> departments = bean(DepartmentRepository.class).findAll();
+        String passwordHash = bean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<Teacher> teacherList = new ArrayList<>();
+        for (int i = 0; i < teachers; i++) {
+            User user = user("bench_teacher" + i, passwordHash, Role.TEACHER);
+            teacherList.add(new Teacher(user, "Teacher", "No" + i, "BT" + i, departments.get(i % departments.size())));
+        }
+        bean(TeacherRepository.class).saveAll(teacherList);
+
+        List<Course> courseList = new ArrayList<>();
+        for (int i = 0; i < courses; i++) {
+            Course course = new Course("BC" + i, "Benchmark Course " + i, "Generated course " + i, 3);
+            course.setDepartment(departments.get(i % departments.size()));
+            course.setTeacher(teacherList.get(i % teacherList.size()));
+            courseList.add(course);
+        }
+        bean(CourseRepository.class).saveAll(courseList);
+        courseList.forEach(course -> courseIds.add(course.getId()));
+
+        List<Student> studentList = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            User user = user("bench_student" + i, passwordHash, Role.STUDENT);
+            studentList.add(new Student(user, "Student", "No" + i, "BS" + i, departments.get(i % departments.size())));
+        }
+        bean(StudentRepository.class).saveAll(studentList);
+        studentList.forEach(student -> studentIds.add(student.getId()));
+
+        List<Enrollment> enrollments = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            for (int k = 0; k < ENROLLED_PER_STUDENT; k++) {
+                enrollments.add(new Enrollment(studentList.get(i), courseList.get((i + k) % courses)));
+            }
+        }
+        bean(EnrollmentRepository.class).saveAll(enrollments);
+        lastSeededEnrollmentId = enrollments.get(enrollments.size() - 1).getId();
+    }
+
+    private User user(String username, String passwordHash, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(passwordHash);
+        user.setEmail(username + "@bench.local");
+        user.setRole(role);
+        user.setEnabled(true);
+        return bean(UserRepository.class).save(user);
+    }
+}
@@ -0,0 +1,60 @@
+package com.student_management_system.niloy.benchmark;
+
+import com.student_management_system.niloy.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Full request cycle of the two dashboards through MockMvc: security filters,
+ * controller queries and Thymeleaf rendering of the returned view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardRenderBenchmarks {
+
+    private MockMvc mockMvc;
+    private UserDetails student;
+    private UserDetails teacher;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState app) {
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) app.data.context)
+                .apply(springSecurity())
+                .build();
+        UserService userService = app.bean(UserService.class);
+        student = userService.loadUserByUsername("bench_student0");
+        teacher = userService.loadUserByUsername("bench_teacher0");
+    }
+
+    @Benchmark
+    public String studentDashboard() throws Exception {
+        return render("/student/dashboard", student);
+    }
+
+    @Benchmark
+    public String teacherDashboard() throws Exception {
+        return render("/teacher/dashboard", teacher);
+    }
+
+    private String render(String url, UserDetails principal) throws Exception {
+        String html = mockMvc.perform(get(url).with(user(principal)))
+                .andReturn().getResponse().getContentAsString();
+        if (html.isEmpty()) {
+            throw new IllegalStateException(url + " rendered nothing");
+        }
+        return html;
+    }
+}
@@ -0,0 +1,362 @@
+package com.student_management_system.niloy.benchmark;
+
+import com.student_management_system.niloy.model.Department;
+import com.student_management_system.niloy.repository.DepartmentRepository;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Registration-day load simulation: many users clicking through the site at once.
+ *
+ * Boots the application on a real port with generated data (see {@link BenchmarkData}),
+ * then runs one virtual thread per simulated user. Students log in, look at their dashboard,
+ * enroll in and drop a course, view and save their profile and log out; teachers log in and
+ * open the management pages. Every journey starts with a fresh login, so BCrypt cost is part
+ * of the result. After the ramp-up, every successful request is timed per step and the run ends with a
+ * table of throughput, p50/p99/p99.9 latency and error rate.
+ *
+ * Options are {@code --name=value}: users, teacher-share, duration, ramp-up, think-time,
+ * students, courses, teachers and report (a CSV file). Arguments containing a dot are
+ * application properties, e.g. a PostgreSQL datasource or
+ * {@code --spring.profiles.active=virtual}.
+ */
+public final class LoadSimulation {
+
+    enum Step {
+        LOGIN("POST /login"),
+        STUDENT_DASHBOARD("GET /student/dashboard"),
+        ENROLL("POST /student/enroll/{id}"),
+        UNENROLL("POST /student/unenroll/{id}"),
+        PROFILE("GET /student/profile"),
+        PROFILE_UPDATE("POST /student/profile/update"),
+        TEACHER_DASHBOARD("GET /teacher/dashboard"),
+        MANAGE_STUDENTS("GET /teacher/students"),
+        MANAGE_COURSES("GET /teacher/courses"),
+        MANAGE_TEACHERS("GET /teacher/teachers"),
+        LOGOUT("POST /logout");
+
+        final String label;
+
+        Step(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Map<String, String> options;
+    private final Map<Step, ConcurrentHistogram> latencies = new EnumMap<>(Step.class);
+    private final Map<Step, LongAdder> errors = new EnumMap<>(Step.class);
+    private final LongAdder journeys = new LongAdder();
+
+    private BenchmarkData data;
+    private int teachers;
+    private long thinkTimeMillis;
+    private String baseUrl;
+    private List<Long> departmentIds;
+    private volatile boolean recording;
+    private volatile boolean stopping;
+
+    private LoadSimulation(Map<String, String> options) {
+        this.options = options;
+        for (Step step : Step.values()) {
+            latencies.put(step, new ConcurrentHistogram(MAX_LATENCY_NANOS, 3));
+            errors.put(step, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            String name = arg.startsWith("--") ? arg.substring(2, arg.contains("=") ? arg.indexOf('=') : arg.length()) : "";
+            if (name.isEmpty() || name.contains(".")) {
+                applicationArgs.add(arg);
+            } else {
+                options.put(name, arg.contains("=") ? arg.substring(arg.indexOf('=') + 1) : "true");
+            }
+        }
+        new LoadSimulation(options).run(applicationArgs.toArray(String[]::new));
+        System.exit(0);
+    }
+
+    private void run(String[] applicationArgs) throws Exception {
+        int users = intOption("users", 200);
+        double teacherShare = Double.parseDouble(options.getOrDefault("teacher-share", "0.1"));
+        Duration rampUp = durationOption("ramp-up", "10s");
+        Duration duration = durationOption("duration", "60s");
+        int students = intOption("students", 2000);
+        int courses = intOption("courses", 50);
+        teachers = intOption("teachers", 20);
+        thinkTimeMillis = durationOption("think-time", "500ms").toMillis();
+
+        System.out.printf("Starting the application with %d students, %d courses, %d teachers%n",
+                students, courses, teachers);
+        data = BenchmarkData.start(students, courses, teachers, applicationArgs);
+        try {
+            baseUrl = "http://localhost:" + data.context.getEnvironment().getProperty("local.server.port");
+            departmentIds = data.bean(DepartmentRepository.class).findAll().stream().map(Department::getId).toList();
+
+            System.out.printf("Ramping up %d users over %s, then measuring for %s%n", users, rampUp, duration);
+            List<Thread> threads = new ArrayList<>(users);
+            int teacherUsers = (int) Math.round(users * teacherShare);
+            for (int i = 0; i < users; i++) {
+                int index = i;
+                long delay = rampUp.toMillis() * i / users;
+                threads.add(Thread.ofVirtual().name("load-user-" + i)
+                        .start(() -> simulateUser(index, index < teacherUsers, delay)));
+            }
+
+            Thread.sleep(rampUp.toMillis());
+            recording = true;
+            long started = System.nanoTime();
+            Thread.sleep(duration.toMillis());
+            recording = false;
+            double seconds = (System.nanoTime() - started) / 1e9;
+            stopping = true;
+            for (Thread thread : threads) {
+                thread.join(Duration.ofSeconds(30));
+            }
+
+            report(users, seconds);
+        } finally {
+            data.stop();
+        }
+    }
+
+    private void simulateUser(int index, boolean teacher, long startDelayMillis) {
+        HttpClient http = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        try {
+            Thread.sleep(startDelayMillis);
+            while (!stopping) {
+                try {
+                    if (teacher) {
+                        teacherJourney(http, index % teachers);
+                    } else {
+                        studentJourney(http, index % data.studentIds.size());
+                    }
+                    if (recording) {
+                        journeys.increment();
+                    }
+                } catch (StepFailed e) {
+                    // Already counted; start over with a fresh session
+                    logout(http);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            http.close();
+        }
+    }
+
+    /**
+     * Log in, dashboard, enroll in a course outside the seeded ones, dashboard, drop it again,
+     * profile, save the profile, log out.
+     */
+    private void studentJourney(HttpClient http, int student) throws InterruptedException, StepFailed {
+        login(http, "bench_student" + student);
+        thinkTime();
+        send(http, Step.STUDENT_DASHBOARD, get("/student/dashboard"), 200);
+        thinkTime();
+
+        int courses = data.courseIds.size();
+        int offset = ThreadLocalRandom.current().nextInt(courses - BenchmarkData.ENROLLED_PER_STUDENT);
+        Long course = data.courseIds.get((student + BenchmarkData.ENROLLED_PER_STUDENT + offset) % courses);
+        send(http, Step.ENROLL, post("/student/enroll/" + course, ""), 302, location -> location.endsWith("?enrolled"));
+        thinkTime();
+        send(http, Step.STUDENT_DASHBOARD, get("/student/dashboard"), 200);
+        thinkTime();
+        send(http, Step.UNENROLL, post("/student/unenroll/" + course, ""), 302,
+                location -> location.endsWith("?unenrolled"));
+        thinkTime();
+
+        send(http, Step.PROFILE, get("/student/profile"), 200);
+        thinkTime();
+        String form = "firstName=Student&lastName=No" + student
+                + "&phone=555-" + ThreadLocalRandom.current().nextInt(1000, 10000)
+                + "&address=Dormitory+" + student
+                + "&department.id=" + departmentIds.get(student % departmentIds.size());
+        send(http, Step.PROFILE_UPDATE, post("/student/profile/update", form), 302,
+                location -> location.endsWith("?success"));
+        thinkTime();
+        send(http, Step.LOGOUT, post("/logout", ""), 302);
+    }
+
+    /**
+     * Log in, dashboard, the student, course and teacher management pages, log out.
+     */
+    private void teacherJourney(HttpClient http, int teacher) throws InterruptedException, StepFailed {
+        login(http, "bench_teacher" + teacher);
+        thinkTime();
+        send(http, Step.TEACHER_DASHBOARD, get("/teacher/dashboard"), 200);
+        thinkTime();
+        send(http, Step.MANAGE_STUDENTS, get("/teacher/students"), 200);
+        thinkTime();
+        send(http, Step.MANAGE_COURSES, get("/teacher/courses"), 200);
+        thinkTime();
+        send(http, Step.MANAGE_TEACHERS, get("/teacher/teachers"), 200);
+        thinkTime();
+        send(http, Step.LOGOUT, post("/logout", ""), 302);
+    }
+
+    private void login(HttpClient http, String username) throws InterruptedException, StepFailed {
+        send(http, Step.LOGIN, post("/login", "username=" + username + "&password=" + BenchmarkData.PASSWORD), 302,
+                location -> !location.contains("error"));
+    }
+
+    private void logout(HttpClient http) {
+        try {
+            http.send(post("/logout", "").build(), HttpResponse.BodyHandlers.discarding());
+        } catch (IOException | InterruptedException ignored) {
+            // the next login replaces the session anyway
+        }
+    }
+
+    private void send(HttpClient http, Step step, HttpRequest.Builder request, int expectedStatus)
+            throws InterruptedException, StepFailed {
+        send(http, step, request, expectedStatus, location -> true);
+    }
+
+    /**
+     * Times one request. The application reports most failed form posts (a pool timeout,
+     * "Not enrolled in this course") as a redirect to an error message, so a redirect counts
+     * as successful only when its Location passes the check. Failed requests are counted as
+     * errors only, so the latencies are those of successful requests.
+     */
+    private void send(HttpClient http, Step step, HttpRequest.Builder request, int expectedStatus,
+                      Predicate<String> expectedLocation) throws InterruptedException, StepFailed {
+        long started = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            fail(step);
+            return;
+        }
+        long elapsed = System.nanoTime() - started;
+        if (response.statusCode() != expectedStatus
+                || !expectedLocation.test(response.headers().firstValue("Location").orElse(""))) {
+            fail(step);
+        }
+        if (recording) {
+            latencies.get(step).recordValue(Math.min(elapsed, MAX_LATENCY_NANOS));
+        }
+    }
+
+    private void fail(Step step) throws StepFailed {
+        if (recording) {
+            errors.get(step).increment();
+        }
+        throw new StepFailed();
+    }
+
+    private void thinkTime() throws InterruptedException {
+        if (thinkTimeMillis > 0) {
+            // Uniform around the mean, so users drift apart instead of clicking in lockstep
+            Thread.sleep(ThreadLocalRandom.current().nextLong(2 * thinkTimeMillis));
+        }
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String form) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form));
+    }
+
+    private void report(int users, double seconds) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        long requests = 0;
+        long failed = 0;
+        for (Step step : Step.values()) {
+            Histogram histogram = latencies.get(step);
+            long errorCount = errors.get(step).sum();
+            long count = histogram.getTotalCount() + errorCount;
+            requests += count;
+            failed += errorCount;
+            if (count == 0) {
+                continue;
+            }
+            rows.add(new String[] {
+                    step.label,
+                    Long.toString(count),
+                    format(count / seconds),
+                    Long.toString(errorCount),
+                    format(100.0 * errorCount / count),
+                    millis(histogram, 50.0),
+                    millis(histogram, 99.0),
+                    millis(histogram, 99.9),
+                    format(histogram.getMaxValue() / 1e6)
+            });
+        }
+
+        System.out.printf("%n%d users, %.0f s measured, %s journeys/s, %s requests/s, %s%% errors%n%n", users, seconds,
+                format(journeys.sum() / seconds), format(requests / seconds),
+                format(requests == 0 ? 0 : 100.0 * failed / requests));
+        String[] header = {"Step", "Requests", "Req/s", "Errors", "Error %", "p50 ms", "p99 ms", "p99.9 ms", "Max ms"};
+        System.out.printf("%-30s %9s %9s %7s %8s %9s %9s %9s %9s%n", (Object[]) header);
+        for (String[] row : rows) {
+            System.out.printf("%-30s %9s %9s %7s %8s %9s %9s %9s %9s%n", (Object[]) row);
+        }
+
+        String report = options.get("report");
+        if (report != null) {
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Path.of(report)))) {
+                out.println(String.join(",", header));
+                for (String[] row : rows) {
+                    out.println(String.join(",", row));
+                }
+            }
+            System.out.println("\nReport written to " + report);
+        }
+    }
+
+    private static String millis(Histogram histogram, double percentile) {
+        return format(histogram.getValueAtPercentile(percentile) / 1e6);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, Integer.toString(defaultValue)));
+    }
+
+    private Duration durationOption(String name, String defaultValue) {
+        return DurationStyle.detectAndParse(options.getOrDefault(name, defaultValue));
+    }
+
+    /** Ends the current journey; the failure has already been counted. */
+    private static final class StepFailed extends Exception {
+
+        StepFailed() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.student_management_system.niloy.benchmark;
+
+import com.student_management_system.niloy.model.Student;
+import com.student_management_system.niloy.service.StudentService;
+import com.student_management_system.niloy.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service and repository hot paths against the generated data set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmarks {
+
+    private StudentService studentService;
+    private UserService userService;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void lookupServices(ApplicationState app) {
+        studentService = app.bean(StudentService.class);
+        userService = app.bean(UserService.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetEnrollments(ApplicationState app) {
+        app.data.resetEnrollments();
+        sequence.set(0);
+    }
+
+    /**
+     * Enrolls students in courses they are not enrolled in yet, walking every free
+     * student/course pair before any repeats, so each call is a fresh INSERT.
+     */
+    @Benchmark
+    public boolean enrollInCourse(ApplicationState app) {
+        long n = sequence.getAndIncrement();
+        int student = (int) (n % app.students);
+        int offset = (int) ((n / app.students) % (app.courses - BenchmarkData.ENROLLED_PER_STUDENT));
+        int course = (student + BenchmarkData.ENROLLED_PER_STUDENT + offset) % app.courses;
+        return studentService.enrollInCourse(app.data.studentIds.get(student), app.data.courseIds.get(course));
+    }
+
+    @Benchmark
+    public List<Student> getAllStudents() {
+        return studentService.getAllStudents();
+    }
+
+    /** The user lookup done on every login, without the password check. */
+    @Benchmark
+    public UserDetails loadUserByUsername(ApplicationState app) {
+        int student = (int) (sequence.getAndIncrement() % app.students);
+        return userService.loadUserByUsername("bench_student" + student);
+    }
+}
@@ -0,0 +1,221 @@
+package com.student_management_system.niloy.benchmark;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+/**
+ * Cold-start benchmark: how long a new instance takes from process launch to its first
+ * successful request, the number that matters when the autoscaler adds instances.
+ *
+ * Each mode is started {@code runs} times as a fresh JVM from the packaged jar, and the
+ * login page is polled until it answers 200. Modes, in the order they run:
+ * <ul>
+ *   <li>{@code prod}: {@code java -jar} with the prod profile (Hibernate diffs the schema)</li>
+ *   <li>{@code faststart}: prod,faststart (no schema diffing or JDBC metadata lookups)</li>
+ *   <li>{@code cds}: prod,faststart from the extracted jar with a class-data sharing archive,
+ *       plus the AOT-generated bean definitions when the jar was built with {@code -Paot}</li>
+ * </ul>
+ * The extracted jar and the CDS archive are created under {@code work} with a training run
+ * that exits once the context is refreshed.
+ *
+ * The application runs against the datasource in application.properties (the PostgreSQL
+ * from docker-compose); faststart expects the schema to exist, so {@code prod} runs first.
+ * Options are {@code --name=value}: jar, modes, runs, timeout, work and report (a CSV file).
+ * Arguments containing a dot are application properties, e.g. a different datasource.
+ */
+public final class StartupBenchmark {
+
+    private static final String AOT_INITIALIZER =
+            "BOOT-INF/classes/com/student_management_system/niloy/NiloyApplication__ApplicationContextInitializer.class";
+
+    private final Map<String, String> options;
+    private final List<String> applicationArgs;
+    private final HttpClient http = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private StartupBenchmark(Map<String, String> options, List<String> applicationArgs) {
+        this.options = options;
+        this.applicationArgs = applicationArgs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            String name = arg.startsWith("--") ? arg.substring(2, arg.contains("=") ? arg.indexOf('=') : arg.length()) : "";
+            if (name.isEmpty() || name.contains(".")) {
+                applicationArgs.add(arg);
+            } else {
+                options.put(name, arg.contains("=") ? arg.substring(arg.indexOf('=') + 1) : "true");
+            }
+        }
+        new StartupBenchmark(options, applicationArgs).run();
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        Path jar = Path.of(options.getOrDefault("jar", "target/niloy-0.0.1-SNAPSHOT.jar")).toAbsolutePath();
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException(jar + " not found, package the application first");
+        }
+        List<String> modes = List.of(options.getOrDefault("modes", "prod,faststart,cds").split(","));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        boolean aot = hasAotClasses(jar);
+
+        List<String[]> rows = new ArrayList<>();
+        for (String mode : modes) {
+            List<String> command = command(mode, jar, aot);
+            System.out.printf("%s: %s%n", mode, String.join(" ", command));
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = timeToFirstRequest(command);
+                System.out.printf("  run %d: %d ms%n", i + 1, millis[i]);
+            }
+            Arrays.sort(millis);
+            rows.add(new String[] {
+                    mode,
+                    Integer.toString(runs),
+                    Long.toString(millis[0]),
+                    Long.toString(millis[runs / 2]),
+                    Long.toString(millis[runs - 1])
+            });
+        }
+
+        String[] header = {"Mode", "Runs", "Min ms", "Median ms", "Max ms"};
+        System.out.printf("%nTime to first request (AOT classes %s)%n%n", aot ? "present" : "absent");
+        System.out.printf("%-12s %6s %9s %10s %9s%n", (Object[]) header);
+        for (String[] row : rows) {
+            System.out.printf("%-12s %6s %9s %10s %9s%n", (Object[]) row);
+        }
+
+        String report = options.get("report");
+        if (report != null) {
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Path.of(report)))) {
+                out.println(String.join(",", header));
+                for (String[] row : rows) {
+                    out.println(String.join(",", row));
+                }
+            }
+            System.out.println("\nReport written to " + report);
+        }
+    }
+
+    private List<String> command(String mode, Path jar, boolean aot) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(java()));
+        switch (mode) {
+            case "prod" -> command.addAll(List.of("-jar", jar.toString(), "--spring.profiles.active=prod"));
+            case "faststart" -> command.addAll(List.of("-jar", jar.toString(), "--spring.profiles.active=prod,faststart"));
+            case "cds" -> {
+                Path extracted = extract(jar);
+                Path archive = extracted.resolve("application.jsa");
+                List<String> launch = new ArrayList<>();
+                if (aot) {
+                    launch.add("-Dspring.aot.enabled=true");
+                }
+                launch.addAll(List.of("-jar", extracted.resolve(jar.getFileName()).toString(),
+                        "--spring.profiles.active=prod,faststart"));
+                train(archive, launch);
+                command.add("-XX:SharedArchiveFile=" + archive);
+                command.addAll(launch);
+            }
+            default -> throw new IllegalArgumentException("Unknown mode " + mode + ", expected prod, faststart or cds");
+        }
+        command.addAll(applicationArgs);
+        return command;
+    }
+
+    /** Starts the command on a free port and polls until the login page answers, then stops it. */
+    private long timeToFirstRequest(List<String> command) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> withPort = new ArrayList<>(command);
+        withPort.add("--server.port=" + port);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/login"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + DurationStyle.detectAndParse(options.getOrDefault("timeout", "120s")).toNanos();
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(withPort)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue()
+                            + ", run the command by hand to see why: " + String.join(" ", withPort));
+                }
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - started) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No response within the timeout: " + String.join(" ", withPort));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /** Extracts the jar into the layout the JVM can map from a CDS archive. */
+    private Path extract(Path jar) throws IOException, InterruptedException {
+        Path destination = Path.of(options.getOrDefault("work", "target/startup")).toAbsolutePath().resolve("extracted");
+        exec(List.of(java(), "-Djarmode=tools", "-jar", jar.toString(), "extract", "--force",
+                "--destination", destination.toString()));
+        return destination;
+    }
+
+    /** Training run: refreshes the context (no requests, no database) and dumps the loaded classes. */
+    private void train(Path archive, List<String> launch) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(java(), "-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.context.exit=onRefresh"));
+        command.addAll(launch);
+        command.addAll(applicationArgs);
+        exec(command);
+    }
+
+    private static void exec(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Failed with " + process.exitValue() + ": " + String.join(" ", command));
+        }
+    }
+
+    private static boolean hasAotClasses(Path jar) throws IOException {
+        try (JarFile file = new JarFile(jar.toFile())) {
+            return file.getEntry(AOT_INITIALIZER) != null;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+}
@@ -0,0 +1,167 @@
+package com.student_management_system.niloy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Platform versus virtual request threads under high concurrency.
+ *
+ * The application runs on a real Tomcat port and every benchmark thread is an HTTP client
+ * logged in as its own student, so the client count (-t) can exceed Tomcat's 200 platform
+ * threads. Both modes use the same connection pool size.
+ *
+ * Under overload the application answers a failed enrollment (e.g. a pool timeout) with a
+ * redirect to the dashboard's error message rather than an error status, so enroll reports
+ * its outcomes as the enroll:succeeded and enroll:failed rates next to the raw throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(400)
+@Fork(1)
+public class ThreadModelBenchmarks {
+
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        @Param({"platform", "virtual"})
+        public String threads;
+
+        @Param({"20"})
+        public int poolSize;
+
+        BenchmarkData data;
+        String baseUrl;
+        final AtomicInteger nextStudent = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void start() {
+            data = BenchmarkData.start(2000, 50, 20,
+                    // the virtual profile as deployed, with the pool held equal for both modes
+                    "--spring.profiles.active=" + ("virtual".equals(threads) ? "virtual" : "default"),
+                    "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                    // clients log in one after another during setup; keep that part cheap
+                    "--app.security.password.bcrypt-strength=4");
+            baseUrl = "http://localhost:" + data.context.getEnvironment().getProperty("local.server.port");
+        }
+
+        @Setup(Level.Iteration)
+        public void resetEnrollments() {
+            data.resetEnrollments();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            data.stop();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        HttpClient http;
+        int student;
+        int courseOffset;
+        boolean enrolled;
+
+        @Setup(Level.Trial)
+        public void login(Server server) throws Exception {
+            student = server.nextStudent.getAndIncrement() % server.data.studentIds.size();
+            http = HttpClient.newBuilder()
+                    .cookieHandler(new CookieManager())
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            HttpRequest login = HttpRequest.newBuilder(URI.create(server.baseUrl + "/login"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "username=bench_student" + student + "&password=" + BenchmarkData.PASSWORD))
+                    .build();
+            HttpResponse<Void> response;
+            // One login at a time, otherwise the setup itself is a login storm
+            synchronized (server) {
+                response = http.send(login, HttpResponse.BodyHandlers.discarding());
+            }
+            String location = response.headers().firstValue("Location").orElse("");
+            if (location.contains("error")) {
+                throw new IllegalStateException("Login failed for bench_student" + student);
+            }
+        }
+    }
+
+    /** Reset every iteration, like the scores, so both rates cover the same interval. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+
+        public long succeeded;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            succeeded = 0;
+            failed = 0;
+        }
+    }
+
+    @Benchmark
+    public int studentDashboard(Server server, Client client) throws Exception {
+        return send(client, HttpRequest.newBuilder(URI.create(server.baseUrl + "/student/dashboard")).GET(), 200);
+    }
+
+    /**
+     * Alternates enrolling in and dropping the same course before moving to the next one,
+     * so every request writes a row instead of hitting the duplicate check. A failed request
+     * is retried by the next call.
+     */
+    @Benchmark
+    public int enroll(Server server, Client client, Outcomes outcomes) throws Exception {
+        int courses = server.data.courseIds.size();
+        int course = (client.student + BenchmarkData.ENROLLED_PER_STUDENT + client.courseOffset) % courses;
+        String action = client.enrolled ? "/student/unenroll/" : "/student/enroll/";
+        HttpResponse<byte[]> response = client.http.send(
+                HttpRequest.newBuilder(URI.create(server.baseUrl + action + server.data.courseIds.get(course)))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .timeout(Duration.ofSeconds(30))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 302) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + " for " + response.uri());
+        }
+        String location = response.headers().firstValue("Location").orElse("");
+        if (location.endsWith(client.enrolled ? "?unenrolled" : "?enrolled")) {
+            outcomes.succeeded++;
+            if (client.enrolled) {
+                client.courseOffset = (client.courseOffset + 1) % (courses - BenchmarkData.ENROLLED_PER_STUDENT);
+            }
+            client.enrolled = !client.enrolled;
+        } else {
+            // ?error=... or ?alreadyEnrolled (an earlier failed attempt went through after all)
+            outcomes.failed++;
+            if (location.endsWith("?alreadyEnrolled")) {
+                client.enrolled = true;
+            }
+        }
+        return location.length();
+    }
+
+    private static int send(Client client, HttpRequest.Builder request, int expectedStatus)
+            throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.http.send(request.timeout(Duration.ofSeconds(30)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + " for " + response.uri());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,63 @@
+package com.student_management_system.niloy.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Fails startup when a Spring AOT build runs with other bean-defining profiles than it was
+ * built for (the aot.profiles Maven property, recorded in aot-profiles.properties).
+ *
+ * The build profiles are always active in such a build. AOT settles bean conditions at
+ * build time, so any other of these profiles would otherwise be silently half applied:
+ * virtual would get its small connection pool but no virtual-thread Tomcat or task executor,
+ * datagen would never generate anything. Profiles that only set property values, such as
+ * faststart, can be combined freely.
+ */
+@Component
+public class AotProfileGuard {
+
+    static final Set<String> CONDITIONAL_PROFILES = Set.of("prod", "virtual", "datagen");
+
+    static final String BUILD_PROFILES = "aot-profiles.properties";
+
+    @Autowired
+    private Environment environment;
+
+    @PostConstruct
+    void checkProfiles() throws IOException {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        ClassPathResource resource = new ClassPathResource(BUILD_PROFILES);
+        if (!resource.exists()) {
+            return;
+        }
+        Properties properties = PropertiesLoaderUtils.loadProperties(resource);
+        Set<String> built = conditionalProfiles(StringUtils.commaDelimitedListToStringArray(
+                properties.getProperty("profiles", "")));
+        Set<String> active = conditionalProfiles(environment.getActiveProfiles());
+        if (!built.equals(active)) {
+            throw new IllegalStateException("This build's AOT bean definitions were generated for the profiles "
+                    + built + ", but " + active + " are active. Rebuild with -Daot.profiles (Docker: "
+                    + "--build-arg AOT_PROFILES) or start without -Dspring.aot.enabled=true");
+        }
+    }
+
+    static Set<String> conditionalProfiles(String... profiles) {
+        Set<String> result = new TreeSet<>();
+        Arrays.stream(profiles).map(String::trim).filter(CONDITIONAL_PROFILES::contains).forEach(result::add);
+        return result;
+    }
+}
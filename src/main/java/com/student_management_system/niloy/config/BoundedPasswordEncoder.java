@@ -0,0 +1,107 @@
+package com.student_management_system.niloy.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many password hashes are computed at once.
+ *
+ * BCrypt is deliberately slow, so an unbounded login storm would occupy every request
+ * thread. Callers beyond the limit wait for a permit; a login that waits longer than
+ * the configured maximum is rejected instead of queuing forever, which keeps threads
+ * free for the rest of the application. Account creation and imports always wait.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+
+    private final Timer matchesWait;
+    private final Timer encodeWait;
+    private final Timer matchesHash;
+    private final Timer encodeHash;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int maxConcurrent, Duration maxWait, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaitNanos = maxWait.toNanos();
+
+        this.matchesWait = waitTimer(registry, "matches");
+        this.encodeWait = waitTimer(registry, "encode");
+        this.matchesHash = hashTimer(registry, "matches");
+        this.encodeHash = hashTimer(registry, "encode");
+        this.rejected = Counter.builder("security.password.rejected")
+                .description("Password checks rejected because the hashing pool was saturated")
+                .register(registry);
+        registry.gauge("security.password.active", permits, p -> this.maxConcurrent - p.availablePermits());
+        registry.gauge("security.password.waiting", permits, Semaphore::getQueueLength);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long queued = System.nanoTime();
+        permits.acquireUninterruptibly();
+        encodeWait.record(System.nanoTime() - queued, TimeUnit.NANOSECONDS);
+        return hash(encodeHash, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long queued = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Interrupted while waiting to verify the password", e);
+        }
+        matchesWait.record(System.nanoTime() - queued, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            throw new AuthenticationServiceException("Too many logins in progress, please try again");
+        }
+        return hash(matchesHash, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the hash prefix, no need for a permit
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T hash(Timer timer, Supplier<T> work) {
+        try {
+            return timer.record(work);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static Timer waitTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("security.password.queue")
+                .description("Time spent waiting for a free password hashing slot")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("security.password.hash")
+                .description("Time spent computing a password hash")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
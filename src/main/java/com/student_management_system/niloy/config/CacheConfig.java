@@ -0,0 +1,36 @@
+package com.student_management_system.niloy.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Opt-in cache for department and course reference data and the HTML rendered
+ * from it (app.cache.enabled=true, on in the prod profile).
+ * Entries are bounded by app.cache.spec and evictions are deferred until the
+ * writing transaction commits, so a reader never re-caches uncommitted state.
+ */
+@Configuration
+@EnableCaching
+@ConditionalOnProperty(name = "app.cache.enabled", havingValue = "true")
+public class CacheConfig {
+
+    public static final String DEPARTMENTS = "departments";
+    public static final String COURSE_CATALOG = "courseCatalog";
+    public static final String COURSE_CATALOG_HTML = "courseCatalogHtml";
+    public static final String DEPARTMENT_OPTIONS_HTML = "departmentOptionsHtml";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.spec}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(DEPARTMENTS, COURSE_CATALOG,
+                COURSE_CATALOG_HTML, DEPARTMENT_OPTIONS_HTML);
+        cacheManager.setCacheSpecification(spec);
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
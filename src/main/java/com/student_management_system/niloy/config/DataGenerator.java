@@ -0,0 +1,331 @@
+package com.student_management_system.niloy.config;
+
+import com.student_management_system.niloy.model.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Production-sized synthetic data for local testing ({@code --spring.profiles.active=datagen}).
+ *
+ * Volumes come from {@code app.datagen.*}. The same seed always produces the same names,
+ * departments and enrollments. Rows are written through Hibernate stateless sessions
+ * in JDBC batches, one transaction per chunk of students, so nothing is kept in a
+ * persistence context. All generated accounts share one password, which is hashed once.
+ * Runs after {@link DataInitializer}; a run that was interrupted is completed by the next
+ * start, and a finished one is left alone.
+ */
+@Component
+@Profile("datagen")
+@Order(2)
+public class DataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DataGenerator.class);
+
+    private static final String DEPARTMENT_PREFIX = "Generated Department ";
+
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Aisha", "Alejandro", "Amara", "Ben", "Chen", "Chloe", "Daniel", "Elena", "Fatima",
+            "Gabriel", "Hana", "Ibrahim", "Isla", "Jamal", "Julia", "Kenji", "Laila", "Liam", "Maya",
+            "Mohammed", "Nadia", "Noah", "Olivia", "Priya", "Rafael", "Sara", "Tariq", "Yuki", "Zoe"
+    };
+    private static final String[] LAST_NAMES = {
+            "Ahmed", "Brown", "Chowdhury", "Costa", "Dubois", "Garcia", "Hassan", "Ito", "Jensen", "Khan",
+            "Kim", "Kowalski", "Lee", "Martin", "Mensah", "Muller", "Nguyen", "Novak", "Okafor", "Patel",
+            "Rahman", "Rossi", "Santos", "Schmidt", "Silva", "Smith", "Tanaka", "Wang", "Williams", "Yilmaz"
+    };
+    private static final String[] SUBJECTS = {
+            "Programming", "Algorithms", "Databases", "Networks", "Circuits", "Signals", "Structures",
+            "Thermodynamics", "Statistics", "Calculus", "Mechanics", "Materials", "Optimization", "Ethics"
+    };
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectProvider<CacheManager> cacheManager;
+
+    @Value("${app.datagen.seed:42}")
+    private long seed;
+
+    @Value("${app.datagen.departments:20}")
+    private int departments;
+
+    @Value("${app.datagen.teachers:500}")
+    private int teachers;
+
+    @Value("${app.datagen.courses:5000}")
+    private int courses;
+
+    @Value("${app.datagen.students:200000}")
+    private int students;
+
+    @Value("${app.datagen.enrollments-per-student:10}")
+    private int enrollmentsPerStudent;
+
+    @Value("${app.datagen.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.datagen.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${app.datagen.threads:0}")
+    private int threads;
+
+    @Value("${app.datagen.password:password123}")
+    private String password;
+
+    /**
+     * Fails startup on volumes the generator cannot fill, e.g. courses without any teacher.
+     */
+    @PostConstruct
+    void checkVolumes() {
+        requireAtLeast("app.datagen.departments", departments, 1);
+        requireAtLeast("app.datagen.teachers", teachers, 1);
+        requireAtLeast("app.datagen.courses", courses, 1);
+        requireAtLeast("app.datagen.students", students, 1);
+        requireAtLeast("app.datagen.enrollments-per-student", enrollmentsPerStudent, 0);
+        requireAtLeast("app.datagen.batch-size", batchSize, 1);
+        requireAtLeast("app.datagen.chunk-size", chunkSize, 1);
+        requireAtLeast("app.datagen.threads", threads, 0);
+    }
+
+    private static void requireAtLeast(String property, int value, int minimum) {
+        if (value < minimum) {
+            throw new IllegalStateException(property + " must be at least " + minimum + ", was " + value);
+        }
+    }
+
+    @Override
+    public void run(String... args) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        // Chunks commit one by one, so only the last student proves an earlier run finished
+        if (studentExists(sessionFactory, studentNumber(students - 1))) {
+            log.info("Synthetic data already present, skipping generation");
+            return;
+        }
+
+        long started = System.nanoTime();
+        // Stateless sessions skip @PrePersist, so timestamps are set here
+        LocalDateTime now = LocalDateTime.now();
+        String passwordHash = passwordEncoder.encode(password);
+
+        List<Department> departmentList = new ArrayList<>(departments);
+        List<Course> courseList = new ArrayList<>(courses);
+        if (referenceDataExists(sessionFactory)) {
+            // An interrupted run committed the reference data, and possibly some student chunks
+            loadReferenceData(sessionFactory, departmentList, courseList);
+        } else {
+            insertReferenceData(sessionFactory, passwordHash, now, departmentList, courseList);
+        }
+
+        // Student chunks are independent, so they are written in parallel
+        int workers = threads > 0 ? threads : Math.min(Runtime.getRuntime().availableProcessors(), 4);
+        AtomicInteger generated = new AtomicInteger();
+        List<Future<?>> chunks = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(workers)) {
+            for (int from = 0; from < students; from += chunkSize) {
+                int first = from;
+                int to = Math.min(from + chunkSize, students);
+                chunks.add(executor.submit(() -> {
+                    insertStudents(sessionFactory, first, to, passwordHash, now, departmentList, courseList);
+                    log.info("Generated {} of {} students", generated.addAndGet(to - first), students);
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Data generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Data generation failed", e.getCause());
+        }
+
+        // DataInitializer may already have cached the department list and catalog
+        cacheManager.ifAvailable(manager -> manager.getCacheNames().forEach(name -> manager.getCache(name).clear()));
+
+        log.info("Generated {} departments, {} teachers, {} courses, {} students and {} enrollments in {} ms",
+                departments, teachers, courses, students, (long) students * Math.min(enrollmentsPerStudent, courses),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void insertReferenceData(SessionFactory sessionFactory, String passwordHash, LocalDateTime now,
+                                     List<Department> departmentList, List<Course> courseList) {
+        SplittableRandom random = new SplittableRandom(seed);
+        inTransaction(sessionFactory, session -> {
+            for (int i = 0; i < departments; i++) {
+                Department department = new Department(DEPARTMENT_PREFIX + i, "Synthetic department " + i);
+                department.setUpdatedAt(now);
+                departmentList.add(department);
+            }
+            session.insertMultiple(departmentList);
+
+            List<User> users = new ArrayList<>(teachers);
+            List<Teacher> teacherList = new ArrayList<>(teachers);
+            for (int i = 0; i < teachers; i++) {
+                User user = account("gen_teacher" + i, passwordHash, Role.TEACHER);
+                users.add(user);
+                Teacher teacher = new Teacher(user, pick(random, FIRST_NAMES), pick(random, LAST_NAMES),
+                        String.format("GT%05d", i), departmentList.get(i % departments));
+                teacher.setSpecialization(pick(random, SUBJECTS));
+                teacherList.add(teacher);
+            }
+            session.insertMultiple(users);
+            session.insertMultiple(teacherList);
+
+            for (int i = 0; i < courses; i++) {
+                Course course = new Course(String.format("GC%05d", i),
+                        pick(random, SUBJECTS) + " " + (100 + i % 400), "Synthetic course " + i, 1 + random.nextInt(4));
+                course.setDepartment(departmentList.get(i % departments));
+                course.setTeacher(teacherList.get(i % teachers));
+                course.setUpdatedAt(now);
+                courseList.add(course);
+            }
+            session.insertMultiple(courseList);
+        });
+    }
+
+    /**
+     * The departments and courses of an earlier run, in generation order.
+     */
+    private void loadReferenceData(SessionFactory sessionFactory, List<Department> departmentList,
+                                   List<Course> courseList) {
+        sessionFactory.inStatelessSession(session -> {
+            departmentList.addAll(session.createSelectionQuery(
+                            "from Department d where d.name like :prefix", Department.class)
+                    .setParameter("prefix", DEPARTMENT_PREFIX + "%")
+                    .getResultList());
+            departmentList.sort(Comparator.comparingInt(department ->
+                    Integer.parseInt(department.getName().substring(DEPARTMENT_PREFIX.length()))));
+            courseList.addAll(session.createSelectionQuery(
+                            "from Course c where c.courseCode like 'GC%' order by c.courseCode", Course.class)
+                    .getResultList());
+        });
+    }
+
+    /**
+     * Users, students and their enrollments for student numbers [first, to), in one transaction.
+     * Students an interrupted run already committed are left as they are.
+     */
+    private void insertStudents(SessionFactory sessionFactory, int first, int to, String passwordHash,
+                                LocalDateTime now, List<Department> departmentList, List<Course> courseList) {
+        int courseCount = courseList.size();
+        int perStudent = Math.min(enrollmentsPerStudent, courseCount);
+        inTransaction(sessionFactory, session -> {
+            Set<String> existing = new HashSet<>(session.createSelectionQuery(
+                            "select s.studentId from Student s where s.studentId between :first and :last", String.class)
+                    .setParameter("first", studentNumber(first))
+                    .setParameter("last", studentNumber(to - 1))
+                    .getResultList());
+            if (existing.size() == to - first) {
+                return;
+            }
+
+            List<User> users = new ArrayList<>(to - first);
+            List<Student> studentList = new ArrayList<>(to - first);
+            List<Integer> firstCourses = new ArrayList<>(to - first);
+            for (int i = first; i < to; i++) {
+                if (existing.contains(studentNumber(i))) {
+                    continue;
+                }
+                SplittableRandom random = studentRandom(i);
+                User user = account("gen_student" + i, passwordHash, Role.STUDENT);
+                users.add(user);
+                Student student = new Student(user, pick(random, FIRST_NAMES), pick(random, LAST_NAMES),
+                        studentNumber(i), departmentList.get(random.nextInt(departmentList.size())));
+                student.setPhone(String.format("555-%04d", random.nextInt(10_000)));
+                student.setUpdatedAt(now);
+                studentList.add(student);
+                firstCourses.add(random.nextInt(courseCount));
+            }
+            session.insertMultiple(users);
+            session.insertMultiple(studentList);
+
+            List<Enrollment> enrollments = new ArrayList<>(studentList.size() * perStudent);
+            for (int n = 0; n < studentList.size(); n++) {
+                // Consecutive courses from a random start: distinct, and spread over the catalog
+                int start = firstCourses.get(n);
+                for (int k = 0; k < perStudent; k++) {
+                    Enrollment enrollment = new Enrollment(studentList.get(n), courseList.get((start + k) % courseCount));
+                    enrollment.setCreatedAt(now);
+                    enrollment.setUpdatedAt(now);
+                    enrollments.add(enrollment);
+                }
+            }
+            session.insertMultiple(enrollments);
+        });
+    }
+
+    /**
+     * Each student draws from its own random, derived from the seed and the student's number,
+     * so the data does not depend on the chunk size, the thread count or an interrupted run.
+     */
+    private SplittableRandom studentRandom(int index) {
+        return new SplittableRandom(seed ^ (index + 1) * 0x9E3779B97F4A7C15L);
+    }
+
+    private boolean studentExists(SessionFactory sessionFactory, String studentId) {
+        return sessionFactory.fromStatelessSession(session -> session
+                .createSelectionQuery("select count(*) from Student s where s.studentId = :studentId", Long.class)
+                .setParameter("studentId", studentId)
+                .getSingleResult() > 0);
+    }
+
+    private boolean referenceDataExists(SessionFactory sessionFactory) {
+        return sessionFactory.fromStatelessSession(session -> session
+                .createSelectionQuery("select count(*) from Department d where d.name = :name", Long.class)
+                .setParameter("name", DEPARTMENT_PREFIX + 0)
+                .getSingleResult() > 0);
+    }
+
+    private void inTransaction(SessionFactory sessionFactory, Consumer<StatelessSession> work) {
+        sessionFactory.inStatelessTransaction(session -> {
+            session.setJdbcBatchSize(batchSize);
+            work.accept(session);
+        });
+    }
+
+    private static String studentNumber(int index) {
+        return String.format("GS%07d", index);
+    }
+
+    private static User account(String username, String passwordHash, Role role) {
+        User user = new User(username, passwordHash, username + "@generated.local", role);
+        user.setEnabled(true);
+        return user;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,19 @@
+package com.student_management_system.niloy.config;
+
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application meters on top of what Actuator binds by itself (http.server.requests per
+ * endpoint, hikaricp.* pool gauges, cache.* statistics, and hibernate.* query and entity
+ * counters when hibernate.generate_statistics is on). Everything is scraped in Prometheus
+ * format from /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Timer over every public method of the classes annotated with @Timed(SERVICE_TIMER),
+     * tagged with class and method.
+     */
+    public static final String SERVICE_TIMER = "app.service";
+}
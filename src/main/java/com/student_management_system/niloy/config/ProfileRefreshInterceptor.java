@@ -0,0 +1,51 @@
+package com.student_management_system.niloy.config;
+
+import com.student_management_system.niloy.service.AccountPrincipal;
+import com.student_management_system.niloy.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Completes a session principal whose Student/Teacher profile did not exist at login.
+ *
+ * The profile id is normally resolved once at login. While it is missing, each request
+ * looks it up again; as soon as the profile exists the principal in the security context
+ * and the session is replaced, so later requests skip the lookup. Handlers that still find
+ * no profile answer 404 (see AccountPrincipal#requireProfileId).
+ */
+public class ProfileRefreshInterceptor implements HandlerInterceptor {
+
+    private final UserService userService;
+    private final SecurityContextRepository securityContextRepository = new HttpSessionSecurityContextRepository();
+
+    public ProfileRefreshInterceptor(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AccountPrincipal principal)
+                || principal.getProfileId() != null) {
+            return true;
+        }
+        userService.findProfileId(principal.getUserId(), principal.getRole()).ifPresent(profileId -> {
+            UsernamePasswordAuthenticationToken refreshed = UsernamePasswordAuthenticationToken.authenticated(
+                    principal.withProfileId(profileId), authentication.getCredentials(), authentication.getAuthorities());
+            refreshed.setDetails(authentication.getDetails());
+
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(refreshed);
+            SecurityContextHolder.setContext(context);
+            securityContextRepository.saveContext(context, request, response);
+        });
+        return true;
+    }
+}
@@ -0,0 +1,60 @@
+package com.student_management_system.niloy.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Measures how far the replica is behind the primary with app.datasource.replica.lag-query,
+ * which returns the lag in milliseconds. An unreachable replica counts as infinitely behind,
+ * so reads fall back to the primary until it answers again. The last value is published as
+ * the app.datasource.replica.lag gauge.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private volatile long lagMillis = Long.MAX_VALUE;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        Gauge.builder("app.datasource.replica.lag", this,
+                        monitor -> monitor.lagMillis == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : monitor.lagMillis / 1000.0)
+                .baseUnit("seconds")
+                .description("Replication lag of the read replica, as of the last probe")
+                .register(meterRegistry);
+    }
+
+    /** Runs every app.datasource.replica.lag-probe-interval, see {@link ReplicaRouting}. */
+    public void probe() {
+        long previous = lagMillis;
+        try {
+            Number lag = replica.queryForObject(lagQuery, Number.class);
+            lagMillis = lag == null ? 0 : Math.max(0, lag.longValue());
+            if (previous == Long.MAX_VALUE) {
+                log.info("Replica reachable, {} ms behind the primary", lagMillis);
+            }
+        } catch (RuntimeException e) {
+            lagMillis = Long.MAX_VALUE;
+            if (previous != Long.MAX_VALUE) {
+                log.warn("Replica unreachable, reading from the primary: {}", e.getMessage());
+            }
+        }
+    }
+
+    public boolean isWithin(Duration maxLag) {
+        return lagMillis <= maxLag.toMillis();
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+}
@@ -0,0 +1,89 @@
+package com.student_management_system.niloy.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The read replica's pool, its lag probe and the router in front of both pools, or none of
+ * them when app.datasource.replica.enabled is off. None of these is a DataSource bean, so
+ * health checks and pool metrics never open the replica pool while routing is off.
+ */
+public class ReplicaRouting implements AutoCloseable {
+
+    private final HikariDataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final ScheduledExecutorService lagProbe;
+
+    private ReplicaRouting() {
+        this.replica = null;
+        this.lagMonitor = null;
+        this.routingDataSource = null;
+        this.lagProbe = null;
+    }
+
+    ReplicaRouting(DataSource primary, HikariDataSource replica, String lagQuery, Duration lagProbeInterval,
+                   Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.lagMonitor = new ReplicaLagMonitor(replica, lagQuery, meterRegistry);
+        this.routingDataSource = new ReplicaRoutingDataSource(primary, replica, lagMonitor, maxLag, lagProbeInterval,
+                Clock.systemUTC());
+        this.routingDataSource.afterPropertiesSet();
+        this.lagProbe = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-lag-probe").daemon(true).factory());
+        lagProbe.scheduleWithFixedDelay(() -> {
+            lagMonitor.probe();
+            routingDataSource.forgetOldWrites();
+        }, 0, lagProbeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** Everything stays on the primary. */
+    static ReplicaRouting off() {
+        return new ReplicaRouting();
+    }
+
+    public boolean isEnabled() {
+        return routingDataSource != null;
+    }
+
+    /** The replica pool, only while routing is on. */
+    public DataSource getReplicaDataSource() {
+        return replica;
+    }
+
+    /** Only while routing is on. */
+    public ReplicaLagMonitor getLagMonitor() {
+        return lagMonitor;
+    }
+
+    /** Only while routing is on. */
+    public ReplicaRoutingDataSource getRoutingDataSource() {
+        return routingDataSource;
+    }
+
+    /**
+     * Reads for this user go to the primary for max-lag + lag-probe-interval from now. For
+     * writes committed outside the user's own requests, e.g. by a background worker; a no-op
+     * while routing is off.
+     */
+    public void recordWrite(Long userId) {
+        if (isEnabled()) {
+            routingDataSource.recordWrite(userId);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (isEnabled()) {
+            lagProbe.shutdownNow();
+            replica.close();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.student_management_system.niloy.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Optional read replica (app.datasource.replica.enabled=true).
+ *
+ * The primary pool is configured by spring.datasource.* as before, the replica pool by
+ * app.datasource.replica.* (jdbc-url, username, password and any other Hikari setting).
+ * The application's DataSource routes @Transactional(readOnly = true) work to the replica,
+ * see {@link ReplicaRoutingDataSource}. Schema migrations, Hibernate's startup checks and
+ * all writes use the primary.
+ *
+ * The switch is read when the context starts, not by a bean condition: an AOT build settles
+ * conditions at build time, and the same image has to run with and without a replica.
+ */
+@Configuration
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRouting replicaRouting(@Qualifier("primaryDataSource") DataSource primary, Environment environment,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${app.datasource.replica.enabled:false}") boolean enabled,
+                                         @Value("${app.datasource.replica.lag-query:}") String lagQuery,
+                                         @Value("${app.datasource.replica.lag-probe-interval:1s}") Duration lagProbeInterval,
+                                         @Value("${app.datasource.replica.max-lag:2s}") Duration maxLag) {
+        if (!enabled) {
+            return ReplicaRouting.off();
+        }
+        if (lagQuery.isBlank()) {
+            // Without a lag measurement the replica would count as unreachable forever
+            throw new IllegalStateException(
+                    "app.datasource.replica.enabled=true needs app.datasource.replica.lag-query");
+        }
+        HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("app.datasource.replica", Bindable.ofInstance(replica));
+        replica.setPoolName("replica");
+        // Pool metrics are only bound to DataSource beans
+        replica.setMetricRegistry(meterRegistry);
+        return new ReplicaRouting(primary, replica, lagQuery, lagProbeInterval, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary, ReplicaRouting replicaRouting) {
+        return replicaRouting.isEnabled()
+                ? new LazyConnectionDataSourceProxy(replicaRouting.getRoutingDataSource())
+                : primary;
+    }
+
+    /**
+     * Pins the signed-in user to the primary after each write they commit. Writes committed
+     * on other threads are recorded by whoever commits them, see {@link ReplicaRouting#recordWrite}.
+     */
+    @Bean
+    public TransactionExecutionListener readYourWritesListener(ReplicaRouting replicaRouting) {
+        return new TransactionExecutionListener() {
+            @Override
+            public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+                if (commitFailure == null && !transaction.isReadOnly() && transaction.isNewTransaction()) {
+                    replicaRouting.recordWrite(ReplicaRoutingDataSource.currentUserId());
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.student_management_system.niloy.config;
+
+import com.student_management_system.niloy.service.AccountPrincipal;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary.
+ *
+ * A read-only transaction still goes to the primary when the replica is further behind
+ * than max-lag (see {@link ReplicaLagMonitor}), or when a write for the signed-in user was
+ * committed less than max-lag + lag-probe-interval ago, so a student sees their own enrollment
+ * right away: once that has passed, the replica has been measured at most max-lag behind at
+ * least max-lag after the write, so it has applied it. Writes are recorded per user id rather
+ * than per session, because the enrollment queue commits them on its own thread, outside any
+ * request.
+ * Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only known once
+ * the transaction has begun, after the connection would otherwise have been fetched.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Duration maxLag;
+    private final long pinMillis;
+    private final Clock clock;
+    private final Map<Long, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    Duration maxLag, Duration lagProbeInterval, Clock clock) {
+        this.lagMonitor = lagMonitor;
+        this.maxLag = maxLag;
+        // The lag the router compares with max-lag can be one probe interval old
+        this.pinMillis = maxLag.plus(lagProbeInterval).toMillis();
+        this.clock = clock;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && lagMonitor.isWithin(maxLag) && !currentUserWroteRecently()) {
+            return Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+
+    /** Remembers that a write for the given user has just been committed. Ignores null. */
+    public void recordWrite(Long userId) {
+        if (userId != null) {
+            lastWriteByUser.put(userId, clock.millis());
+        }
+    }
+
+    /** Drops the writes that no longer pin anyone to the primary. */
+    void forgetOldWrites() {
+        long cutoff = clock.millis() - pinMillis;
+        lastWriteByUser.values().removeIf(millis -> millis <= cutoff);
+    }
+
+    /** The id of the user signed in on this thread, or null outside a request. */
+    static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AccountPrincipal principal
+                ? principal.getUserId()
+                : null;
+    }
+
+    private boolean currentUserWroteRecently() {
+        Long userId = currentUserId();
+        Long lastWrite = userId != null ? lastWriteByUser.get(userId) : null;
+        return lastWrite != null && clock.millis() - lastWrite < pinMillis;
+    }
+}
@@ -1,30 +1,141 @@
 package com.student_management_system.niloy.config;
 
 import com.student_management_system.niloy.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.authentication.DelegatingAuthenticationEntryPoint;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.LoginUrlAuthenticationEntryPoint;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
+    /**
+     * Hashes are stored as "{id}hash". New and upgraded hashes use app.security.password.algorithm;
+     * legacy hashes without a prefix are plain BCrypt and are rewritten on the next successful login,
+     * as are hashes whose BCrypt cost differs from app.security.password.bcrypt-strength.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${app.security.password.algorithm:bcrypt}") String algorithm,
+                                           @Value("${app.security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${app.security.password.max-concurrent:0}") int maxConcurrent,
+                                           @Value("${app.security.password.max-wait:3s}") Duration maxWait,
+                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        BCryptPasswordEncoder bcrypt = new CostAwareBCryptPasswordEncoder(strength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password algorithm: " + algorithm);
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        int limit = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegating, limit, maxWait, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /**
+     * Static assets skip the session, security context and request cache lookups of the
+     * main chain; they are public and fingerprinted, so there is nothing to protect.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Order(1)
+    public SecurityFilterChain staticResourcesFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/css/**", "/js/**")
+            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+            .securityContext(context -> context.disable())
+            .sessionManagement(session -> session.disable())
+            .requestCache(cache -> cache.disable())
+            .csrf(csrf -> csrf.disable());
+
+        return http.build();
+    }
+
+    /**
+     * Prometheus scrapes every few seconds, so it authenticates with app.metrics.scrape-token
+     * as a Bearer token, compared in constant time, rather than with a teacher password that
+     * would run BCrypt and take a hashing permit on every scrape. Signed-in teachers can
+     * still open the page from their session.
+     */
+    @Bean
+    @Order(2)
+    public SecurityFilterChain prometheusFilterChain(HttpSecurity http,
+                                                     @Value("${app.metrics.scrape-token:}") String scrapeToken) throws Exception {
+        byte[] expected = ("Bearer " + scrapeToken).getBytes(StandardCharsets.UTF_8);
+        AuthorizationManager<RequestAuthorizationContext> teacher = AuthorityAuthorizationManager.hasRole("TEACHER");
+        http
+            .securityMatcher("/actuator/prometheus")
+            .authorizeHttpRequests(auth -> auth.anyRequest().access((authentication, context) -> {
+                String header = context.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+                if (!scrapeToken.isEmpty() && header != null
+                        && MessageDigest.isEqual(expected, header.getBytes(StandardCharsets.UTF_8))) {
+                    return new AuthorizationDecision(true);
+                }
+                return teacher.authorize(authentication, context);
+            }))
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .requestCache(cache -> cache.disable())
+            .csrf(csrf -> csrf.disable());
+
+        return http.build();
+    }
+
+    /**
+     * The other actuator endpoints accept HTTP Basic as well as the login session.
+     */
+    @Bean
+    @Order(3)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/actuator/**")
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers("/actuator/health").permitAll()
+                .anyRequest().hasRole("TEACHER")
+            )
+            .httpBasic(Customizer.withDefaults())
+            .csrf(csrf -> csrf.disable());
+
+        return http.build();
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http, UserService userService) throws Exception {
         http
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/", "/login", "/css/**", "/js/**").permitAll()
+                .requestMatchers("/", "/login").permitAll()
                 .requestMatchers("/student/**").hasRole("STUDENT")
                 .requestMatchers("/teacher/**").hasRole("TEACHER")
                 .anyRequest().authenticated()
@@ -34,6 +145,14 @@ public class SecurityConfig {
                 .defaultSuccessUrl("/dashboard", true)
                 .permitAll()
             )
+            .exceptionHandling(exceptions -> exceptions
+                // API clients get a 401 rather than a redirect to the login page
+                .authenticationEntryPoint(DelegatingAuthenticationEntryPoint.builder()
+                        .addEntryPointFor(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED),
+                                PathPatternRequestMatcher.pathPattern("/api/**"))
+                        .defaultEntryPoint(new LoginUrlAuthenticationEntryPoint("/login"))
+                        .build())
+            )
             .logout(logout -> logout
                 .logoutUrl("/logout")
                 .logoutSuccessUrl("/login?logout")
@@ -43,4 +162,31 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    /**
+     * Asks for an upgrade whenever the stored cost differs from the configured one,
+     * so the cost can be lowered as well as raised.
+     */
+    private static class CostAwareBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+        private final int strength;
+
+        CostAwareBCryptPasswordEncoder(int strength) {
+            super(strength);
+            this.strength = strength;
+        }
+
+        @Override
+        protected boolean upgradeEncodingNonNull(String encodedPassword) {
+            if (encodedPassword.length() < 7) {
+                return false;
+            }
+            // $2a$10$... - the cost is the two digits after the version
+            try {
+                return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
 }
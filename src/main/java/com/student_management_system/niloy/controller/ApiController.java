@@ -0,0 +1,130 @@
+package com.student_management_system.niloy.controller;
+
+import com.student_management_system.niloy.model.CourseView;
+import com.student_management_system.niloy.model.DepartmentView;
+import com.student_management_system.niloy.model.EnrollmentView;
+import com.student_management_system.niloy.model.ResourceVersion;
+import com.student_management_system.niloy.model.StudentView;
+import com.student_management_system.niloy.service.AccountPrincipal;
+import com.student_management_system.niloy.service.CourseService;
+import com.student_management_system.niloy.service.DepartmentService;
+import com.student_management_system.niloy.service.StudentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Read-only JSON API for mobile clients and integrations.
+ *
+ * Responses are record projections selected column by column, never entities. Each
+ * response carries an ETag taken from a count/max(id)/max(updatedAt) query, so a client
+ * polling with If-None-Match gets a 304 without the rows being loaded at all.
+ *
+ * Only single-resource responses also carry Last-Modified. Deleting a row from a collection
+ * never advances max(updatedAt), so an If-Modified-Since on a list would keep answering 304
+ * for a list that has lost a row.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class ApiController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @GetMapping("/departments")
+    public ResponseEntity<List<DepartmentView>> departments(WebRequest request) {
+        return conditional(request, departmentService.getDepartmentsVersion(), departmentService::getDepartmentViews);
+    }
+
+    @GetMapping("/courses")
+    public ResponseEntity<PagedModel<CourseView>> courses(@RequestParam(defaultValue = "0") int page,
+                                                          @RequestParam(defaultValue = "20") int size,
+                                                          WebRequest request) {
+        PageRequest pageRequest = pageRequest(page, size, "courseCode");
+        return conditional(request, courseService.getCatalogVersion(),
+                () -> new PagedModel<>(courseService.getCourseViews(pageRequest)));
+    }
+
+    @GetMapping("/courses/{id}")
+    public ResponseEntity<CourseView> course(@PathVariable Long id, WebRequest request) {
+        ResourceVersion version = courseService.getCourseVersion(id);
+        if (!version.exists()) {
+            return ResponseEntity.notFound().build();
+        }
+        return conditionalItem(request, version, () -> courseService.getCourseView(id).orElseThrow());
+    }
+
+    @GetMapping("/students")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<PagedModel<StudentView>> students(@RequestParam(defaultValue = "0") int page,
+                                                            @RequestParam(defaultValue = "20") int size,
+                                                            WebRequest request) {
+        PageRequest pageRequest = pageRequest(page, size, "studentId");
+        return conditional(request, studentService.getRosterVersion(),
+                () -> new PagedModel<>(studentService.getStudentViews(pageRequest)));
+    }
+
+    @GetMapping("/students/{id}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<StudentView> student(@PathVariable Long id, WebRequest request) {
+        ResourceVersion version = studentService.getStudentVersion(id);
+        if (!version.exists()) {
+            return ResponseEntity.notFound().build();
+        }
+        return conditionalItem(request, version, () -> studentService.getStudentView(id).orElseThrow());
+    }
+
+    @GetMapping("/me/enrollments")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<List<EnrollmentView>> myEnrollments(@AuthenticationPrincipal AccountPrincipal principal,
+                                                              WebRequest request) {
+        Long studentId = principal.requireProfileId();
+        return conditional(request, studentService.getEnrollmentVersion(studentId),
+                () -> studentService.getEnrollmentViews(studentId));
+    }
+
+    private static <T> ResponseEntity<T> conditional(WebRequest request, ResourceVersion version, Supplier<T> body) {
+        // Also writes the ETag header to the response; If-Modified-Since is ignored
+        return respond(request.checkNotModified(version.getETag()), body);
+    }
+
+    private static <T> ResponseEntity<T> conditionalItem(WebRequest request, ResourceVersion version, Supplier<T> body) {
+        // Also writes the ETag and Last-Modified headers to the response
+        return respond(request.checkNotModified(version.getETag(), version.getLastModifiedMillis()), body);
+    }
+
+    private static <T> ResponseEntity<T> respond(boolean notModified, Supplier<T> body) {
+        if (notModified) {
+            // A 304 refreshes the cached response's headers, so it repeats the caching policy
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CACHE_CONTROL).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CACHE_CONTROL)
+                .body(body.get());
+    }
+
+    private static PageRequest pageRequest(int page, int size, String sort) {
+        return PageRequest.of(Math.max(page, 0), Math.clamp(size, 1, MAX_PAGE_SIZE), Sort.by(sort, "id"));
+    }
+}
@@ -1,21 +1,16 @@
 package com.student_management_system.niloy.controller;
 
-import com.student_management_system.niloy.model.User;
 import com.student_management_system.niloy.model.Role;
-import com.student_management_system.niloy.service.UserService;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.stereotype.Controller;
-import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Set;
+
 @Controller
 public class AuthController {
 
-    @Autowired
-    private UserService userService;
-
     @GetMapping("/")
     public String home() {
         return "redirect:/login";
@@ -27,19 +22,13 @@ public class AuthController {
     }
 
     @GetMapping("/dashboard")
-    public String dashboard(Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-        
-        User user = userService.getUserByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        model.addAttribute("username", username);
-        model.addAttribute("role", user.getRole());
+    public String dashboard(Authentication auth) {
+        // The role is already in the granted authorities, no need to reload the user
+        Set<String> authorities = AuthorityUtils.authorityListToSet(auth.getAuthorities());
 
-        if (user.getRole() == Role.STUDENT) {
+        if (authorities.contains("ROLE_" + Role.STUDENT.name())) {
             return "redirect:/student/dashboard";
-        } else if (user.getRole() == Role.TEACHER) {
+        } else if (authorities.contains("ROLE_" + Role.TEACHER.name())) {
             return "redirect:/teacher/dashboard";
         }
 
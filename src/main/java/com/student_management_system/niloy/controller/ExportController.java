@@ -0,0 +1,77 @@
+package com.student_management_system.niloy.controller;
+
+import com.student_management_system.niloy.service.ExportFormat;
+import com.student_management_system.niloy.service.ExportService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.Semaphore;
+
+// Full roster exports, streamed to the client - Only accessible by teachers.
+// Each export holds a connection until the download ends, so at most app.export.max-concurrent
+// run at once and further requests are turned away with 503 instead of waiting for the pool.
+@Controller
+@RequestMapping("/teacher/export")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Value("${app.export.max-concurrent:4}")
+    private int maxConcurrent;
+
+    private Semaphore permits;
+
+    @PostConstruct
+    void createPermits() {
+        permits = new Semaphore(maxConcurrent);
+    }
+
+    @GetMapping("/students")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(defaultValue = "CSV") ExportFormat format) {
+        return attachment("students", format, out -> exportService.exportStudents(format, out));
+    }
+
+    @GetMapping("/teachers")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<StreamingResponseBody> exportTeachers(@RequestParam(defaultValue = "CSV") ExportFormat format) {
+        return attachment("teachers", format, out -> exportService.exportTeachers(format, out));
+    }
+
+    @GetMapping("/courses")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<StreamingResponseBody> exportCourses(@RequestParam(defaultValue = "CSV") ExportFormat format) {
+        return attachment("courses", format, out -> exportService.exportCourses(format, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> attachment(String name, ExportFormat format, StreamingResponseBody body) {
+        if (!permits.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .contentType(format.getMediaType())
+                .body(out -> {
+                    try {
+                        body.writeTo(out);
+                    } finally {
+                        permits.release();
+                    }
+                });
+    }
+}
@@ -0,0 +1,49 @@
+package com.student_management_system.niloy.controller;
+
+import com.student_management_system.niloy.model.Role;
+import com.student_management_system.niloy.service.BulkImportService;
+import com.student_management_system.niloy.service.ImportJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+// Bulk CSV import of student and teacher accounts - Only accessible by teachers
+@Controller
+@RequestMapping("/teacher/import")
+public class ImportController {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('TEACHER')")
+    public String importForm() {
+        return "import";
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('TEACHER')")
+    public String startImport(@RequestParam Role kind, @RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            return "redirect:/teacher/import?error=Please choose a CSV file";
+        }
+        try {
+            ImportJob job = bulkImportService.submit(kind, file);
+            return "redirect:/teacher/import/" + job.getId();
+        } catch (Exception e) {
+            return "redirect:/teacher/import?error=" + e.getMessage();
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public String importStatus(@PathVariable String jobId, Model model) {
+        ImportJob job = bulkImportService.getJob(jobId)
+                .orElseThrow(() -> new RuntimeException("Import not found"));
+        model.addAttribute("job", job);
+        return "import";
+    }
+}
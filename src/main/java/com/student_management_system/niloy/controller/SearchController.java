@@ -0,0 +1,55 @@
+package com.student_management_system.niloy.controller;
+
+import com.student_management_system.niloy.model.CourseSearchResult;
+import com.student_management_system.niloy.model.StudentSearchResult;
+import com.student_management_system.niloy.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+// Type-ahead search, answered from the in-memory index as JSON; 503 while the index is still loading
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    @Autowired
+    private SearchService searchService;
+
+    @GetMapping("/students")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<PagedModel<StudentSearchResult>> searchStudents(@RequestParam(defaultValue = "") String q,
+                                                                          @RequestParam(defaultValue = "0") int page,
+                                                                          @RequestParam(defaultValue = "10") int size) {
+        if (!searchService.isWarm()) {
+            return warmingUp();
+        }
+        return ResponseEntity.ok(new PagedModel<>(searchService.searchStudents(q, pageRequest(page, size))));
+    }
+
+    @GetMapping("/courses")
+    public ResponseEntity<PagedModel<CourseSearchResult>> searchCourses(@RequestParam(defaultValue = "") String q,
+                                                                        @RequestParam(defaultValue = "0") int page,
+                                                                        @RequestParam(defaultValue = "10") int size) {
+        if (!searchService.isWarm()) {
+            return warmingUp();
+        }
+        return ResponseEntity.ok(new PagedModel<>(searchService.searchCourses(q, pageRequest(page, size))));
+    }
+
+    private static <T> ResponseEntity<T> warmingUp() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build();
+    }
+
+    private static PageRequest pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.clamp(size, 1, MAX_PAGE_SIZE));
+    }
+}
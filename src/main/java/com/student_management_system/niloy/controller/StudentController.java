@@ -1,21 +1,25 @@
 package com.student_management_system.niloy.controller;
 
 import com.student_management_system.niloy.model.Student;
-import com.student_management_system.niloy.model.User;
 import com.student_management_system.niloy.model.Course;
 import com.student_management_system.niloy.model.Department;
 import com.student_management_system.niloy.service.StudentService;
-import com.student_management_system.niloy.service.UserService;
+import com.student_management_system.niloy.service.AccountPrincipal;
 import com.student_management_system.niloy.service.CourseService;
-import com.student_management_system.niloy.service.DepartmentService;
+import com.student_management_system.niloy.service.EnrollmentQueue;
+import com.student_management_system.niloy.service.EnrollmentTicket;
+import com.student_management_system.niloy.service.FragmentCache;
+import com.student_management_system.niloy.service.ProfileNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/student")
@@ -25,73 +29,91 @@ public class StudentController {
     private StudentService studentService;
 
     @Autowired
-    private UserService userService;
+    private CourseService courseService;
 
     @Autowired
-    private CourseService courseService;
+    private EnrollmentQueue enrollmentQueue;
 
     @Autowired
-    private DepartmentService departmentService;
+    private FragmentCache fragmentCache;
 
     @GetMapping("/dashboard")
     @PreAuthorize("hasRole('STUDENT')")
-    public String studentDashboard(Model model, Authentication authentication) {
-        String username = authentication.getName();
-        User user = userService.getUserByUsername(username).orElseThrow();
-        Student student = studentService.getStudentByUserId(user.getId()).orElseThrow();
+    public String studentDashboard(@RequestParam(required = false) String ticket, Model model,
+                                   @AuthenticationPrincipal AccountPrincipal principal) {
+        Student student = studentService.getStudentProfile(principal.requireProfileId())
+                .orElseThrow(ProfileNotFoundException::new);
 
         model.addAttribute("student", student);
-        model.addAttribute("courses", student.getCourses());
-        model.addAttribute("allCourses", courseService.getAllCourses());
+        List<Course> courses = courseService.getCoursesByStudentId(student.getId());
+        model.addAttribute("courses", courses);
+        model.addAttribute("enrolledCourseIds", courses.stream().map(Course::getId).collect(Collectors.toSet()));
+        model.addAttribute("catalog", fragmentCache.getCourseCatalogRows());
+        model.addAttribute("ticket", ticket);
         
         return "student-dashboard";
     }
 
     @GetMapping("/profile")
     @PreAuthorize("hasRole('STUDENT')")
-    public String studentProfile(Model model, Authentication authentication) {
-        String username = authentication.getName();
-        User user = userService.getUserByUsername(username).orElseThrow();
-        Student student = studentService.getStudentByUserId(user.getId()).orElseThrow();
+    public String studentProfile(Model model, @AuthenticationPrincipal AccountPrincipal principal) {
+        Student student = studentService.getStudentProfile(principal.requireProfileId())
+                .orElseThrow(ProfileNotFoundException::new);
 
         model.addAttribute("student", student);
-        model.addAttribute("departments", departmentService.getAllDepartments());
+        model.addAttribute("departmentOptions", fragmentCache.getDepartmentOptions());
         
         return "student-profile";
     }
 
     @PostMapping("/profile/update")
     @PreAuthorize("hasRole('STUDENT')")
-    public String updateProfile(@ModelAttribute Student studentDetails, Authentication authentication) {
-        String username = authentication.getName();
-        User user = userService.getUserByUsername(username).orElseThrow();
-        Student student = studentService.getStudentByUserId(user.getId()).orElseThrow();
-
-        studentService.updateStudent(student.getId(), studentDetails);
+    public String updateProfile(@ModelAttribute Student studentDetails, @AuthenticationPrincipal AccountPrincipal principal) {
+        studentService.updateStudent(principal.requireProfileId(), studentDetails);
         
         return "redirect:/student/profile?success";
     }
 
     @PostMapping("/enroll/{courseId}")
     @PreAuthorize("hasRole('STUDENT')")
-    public String enrollInCourse(@PathVariable Long courseId, Authentication authentication) {
-        String username = authentication.getName();
-        User user = userService.getUserByUsername(username).orElseThrow();
-        Student student = studentService.getStudentByUserId(user.getId()).orElseThrow();
-
-        studentService.enrollInCourse(student.getId(), courseId);
+    public String enrollInCourse(@PathVariable Long courseId, @AuthenticationPrincipal AccountPrincipal principal) {
+        if (enrollmentQueue.isEnabled()) {
+            // Registration rush mode: queue the request, the dashboard polls the ticket
+            try {
+                EnrollmentTicket ticket = enrollmentQueue.submit(principal.getUserId(), principal.requireProfileId(), courseId);
+                return "redirect:/student/dashboard?ticket=" + ticket.getId();
+            } catch (Exception e) {
+                return "redirect:/student/dashboard?error=" + e.getMessage();
+            }
+        }
+        Long studentId = principal.requireProfileId();
+        try {
+            if (!studentService.enrollInCourse(studentId, courseId)) {
+                return "redirect:/student/dashboard?alreadyEnrolled";
+            }
+        } catch (Exception e) {
+            return "redirect:/student/dashboard?error=" + e.getMessage();
+        }
         
         return "redirect:/student/dashboard?enrolled";
     }
 
-    @PostMapping("/unenroll/{courseId}")
+    @GetMapping("/enrollments/{ticketId}")
     @PreAuthorize("hasRole('STUDENT')")
-    public String unenrollFromCourse(@PathVariable Long courseId, Authentication authentication) {
-        String username = authentication.getName();
-        User user = userService.getUserByUsername(username).orElseThrow();
-        Student student = studentService.getStudentByUserId(user.getId()).orElseThrow();
+    @ResponseBody
+    public ResponseEntity<EnrollmentTicket> enrollmentStatus(@PathVariable String ticketId, @AuthenticationPrincipal AccountPrincipal principal) {
+        return enrollmentQueue.getTicket(ticketId)
+                .filter(ticket -> ticket.getStudentId().equals(principal.getProfileId()))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 
-        studentService.unenrollFromCourse(student.getId(), courseId);
+    @PostMapping("/unenroll/{courseId}")
+    @PreAuthorize("hasRole('STUDENT')")
+    public String unenrollFromCourse(@PathVariable Long courseId, @AuthenticationPrincipal AccountPrincipal principal) {
+        if (!studentService.unenrollFromCourse(principal.requireProfileId(), courseId)) {
+            return "redirect:/student/dashboard?error=Not enrolled in this course";
+        }
         
         return "redirect:/student/dashboard?unenrolled";
     }
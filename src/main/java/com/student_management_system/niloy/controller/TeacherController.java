@@ -4,7 +4,7 @@ import com.student_management_system.niloy.model.*;
 import com.student_management_system.niloy.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -31,46 +31,46 @@ public class TeacherController {
     @Autowired
     private DepartmentService departmentService;
 
+    @Autowired
+    private DepartmentRetirementService departmentRetirementService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private FragmentCache fragmentCache;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
     @GetMapping("/dashboard")
     @PreAuthorize("hasRole('TEACHER')")
-    public String teacherDashboard(Model model, Authentication authentication) {
-        String username = authentication.getName();
-        User user = userService.getUserByUsername(username).orElseThrow();
-        Teacher teacher = teacherService.getTeacherByUserId(user.getId()).orElseThrow();
+    public String teacherDashboard(Model model, @AuthenticationPrincipal AccountPrincipal principal) {
+        Teacher teacher = teacherService.getTeacherById(principal.requireProfileId())
+                .orElseThrow(ProfileNotFoundException::new);
 
         model.addAttribute("teacher", teacher);
-        model.addAttribute("students", studentService.getAllStudents());
-        model.addAttribute("teachers", teacherService.getAllTeachers());
-        model.addAttribute("courses", courseService.getAllCourses());
-        model.addAttribute("departments", departmentService.getAllDepartments());
+        model.addAttribute("summary", dashboardService.getSummary());
         
         return "teacher-dashboard";
     }
 
     @GetMapping("/profile")
     @PreAuthorize("hasRole('TEACHER')")
-    public String teacherProfile(Model model, Authentication authentication) {
-        String username = authentication.getName();
-        User user = userService.getUserByUsername(username).orElseThrow();
-        Teacher teacher = teacherService.getTeacherByUserId(user.getId()).orElseThrow();
+    public String teacherProfile(Model model, @AuthenticationPrincipal AccountPrincipal principal) {
+        Teacher teacher = teacherService.getTeacherProfile(principal.requireProfileId())
+                .orElseThrow(ProfileNotFoundException::new);
 
         model.addAttribute("teacher", teacher);
-        model.addAttribute("departments", departmentService.getAllDepartments());
+        model.addAttribute("departmentOptions", fragmentCache.getDepartmentOptions());
         
         return "teacher-profile";
     }
 
     @PostMapping("/profile/update")
     @PreAuthorize("hasRole('TEACHER')")
-    public String updateProfile(@ModelAttribute Teacher teacherDetails, Authentication authentication) {
-        String username = authentication.getName();
-        User user = userService.getUserByUsername(username).orElseThrow();
-        Teacher teacher = teacherService.getTeacherByUserId(user.getId()).orElseThrow();
-
-        teacherService.updateTeacher(teacher.getId(), teacherDetails);
+    public String updateProfile(@ModelAttribute Teacher teacherDetails, @AuthenticationPrincipal AccountPrincipal principal) {
+        teacherService.updateTeacher(principal.requireProfileId(), teacherDetails);
         
         return "redirect:/teacher/profile?success";
     }
@@ -78,9 +78,11 @@ public class TeacherController {
     // Student Management - Only accessible by teachers
     @GetMapping("/students")
     @PreAuthorize("hasRole('TEACHER')")
-    public String manageStudents(Model model) {
-        model.addAttribute("students", studentService.getAllStudents());
-        model.addAttribute("departments", departmentService.getAllDepartments());
+    public String manageStudents(@ModelAttribute("criteria") ListingCriteria criteria, Model model) {
+        KeysetPage<Student> page = studentService.getStudentPage(criteria);
+        model.addAttribute("students", page.getContent());
+        model.addAttribute("page", page);
+        model.addAttribute("departmentOptions", fragmentCache.getDepartmentOptions());
         return "manage-students";
     }
 
@@ -124,17 +126,20 @@ public class TeacherController {
     @PreAuthorize("hasRole('TEACHER')")
     public String deleteStudent(@PathVariable Long id) {
         Student student = studentService.getStudentById(id).orElseThrow();
-        userService.deleteUser(student.getUser().getId());
+        // The student row references the user, so it goes first
         studentService.deleteStudent(id);
+        userService.deleteUser(student.getUser().getId());
         return "redirect:/teacher/students?deleted";
     }
 
     // Teacher Management
     @GetMapping("/teachers")
     @PreAuthorize("hasRole('TEACHER')")
-    public String manageTeachers(Model model) {
-        model.addAttribute("teachers", teacherService.getAllTeachers());
-        model.addAttribute("departments", departmentService.getAllDepartments());
+    public String manageTeachers(@ModelAttribute("criteria") ListingCriteria criteria, Model model) {
+        KeysetPage<Teacher> page = teacherService.getTeacherPage(criteria);
+        model.addAttribute("teachers", page.getContent());
+        model.addAttribute("page", page);
+        model.addAttribute("departmentOptions", fragmentCache.getDepartmentOptions());
         return "manage-teachers";
     }
 
@@ -178,24 +183,33 @@ public class TeacherController {
     @PreAuthorize("hasRole('TEACHER')")
     public String deleteTeacher(@PathVariable Long id) {
         Teacher teacher = teacherService.getTeacherById(id).orElseThrow();
-        userService.deleteUser(teacher.getUser().getId());
         teacherService.deleteTeacher(id);
+        userService.deleteUser(teacher.getUser().getId());
         return "redirect:/teacher/teachers?deleted";
     }
 
     // Course Management
     @GetMapping("/courses")
     @PreAuthorize("hasRole('TEACHER')")
-    public String manageCourses(Model model) {
-        model.addAttribute("courses", courseService.getAllCourses());
-        model.addAttribute("departments", departmentService.getAllDepartments());
-        model.addAttribute("teachers", teacherService.getAllTeachers());
+    public String manageCourses(@ModelAttribute("criteria") ListingCriteria criteria, Model model) {
+        KeysetPage<Course> page = courseService.getCoursePage(criteria);
+        model.addAttribute("courses", page.getContent());
+        model.addAttribute("page", page);
+        model.addAttribute("departmentOptions", fragmentCache.getDepartmentOptions());
         return "manage-courses";
     }
 
     @PostMapping("/courses/create")
     @PreAuthorize("hasRole('TEACHER')")
-    public String createCourse(@ModelAttribute Course course) {
+    public String createCourse(@ModelAttribute Course course, @RequestParam(required = false) String teacherEmployeeId) {
+        // Looked up by employee id rather than picked from a list of every teacher
+        if (teacherEmployeeId != null && !teacherEmployeeId.isBlank()) {
+            Teacher teacher = teacherService.getTeacherByEmployeeId(teacherEmployeeId.strip()).orElse(null);
+            if (teacher == null) {
+                return "redirect:/teacher/courses?error=No teacher with employee ID " + teacherEmployeeId.strip();
+            }
+            course.setTeacher(teacher);
+        }
         courseService.createCourse(course);
         return "redirect:/teacher/courses?success";
     }
@@ -236,10 +250,25 @@ public class TeacherController {
         return "redirect:/teacher/departments?updated";
     }
 
+    // Members are moved to another department in the background before the department is deleted
     @PostMapping("/departments/delete/{id}")
     @PreAuthorize("hasRole('TEACHER')")
-    public String deleteDepartment(@PathVariable Long id) {
-        departmentService.deleteDepartment(id);
-        return "redirect:/teacher/departments?deleted";
+    public String deleteDepartment(@PathVariable Long id, @RequestParam Long targetDepartmentId,
+                                   @RequestParam DepartmentRetirementJob.CourseHandling courses) {
+        try {
+            DepartmentRetirementJob job = departmentRetirementService.submit(id, targetDepartmentId, courses);
+            return "redirect:/teacher/departments/retirements/" + job.getId();
+        } catch (Exception e) {
+            return "redirect:/teacher/departments?error=" + e.getMessage();
+        }
+    }
+
+    @GetMapping("/departments/retirements/{jobId}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public String retirementStatus(@PathVariable String jobId, Model model) {
+        DepartmentRetirementJob job = departmentRetirementService.getJob(jobId)
+                .orElseThrow(() -> new RuntimeException("Retirement not found"));
+        model.addAttribute("job", job);
+        return "department-retirement";
     }
 }
@@ -2,15 +2,19 @@ package com.student_management_system.niloy.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
-import java.util.ArrayList;
-import java.util.List;
+
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", indexes = {
+    @Index(name = "idx_courses_department_id", columnList = "department_id"),
+    @Index(name = "idx_courses_teacher_id", columnList = "teacher_id")
+})
 public class Course {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_seq")
+    @SequenceGenerator(name = "courses_seq", sequenceName = "courses_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Course code is required")
@@ -26,16 +30,15 @@ public class Course {
     
     private Integer credits;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id")
     private Department department;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "teacher_id")
     private Teacher teacher;
-    
-    @ManyToMany(mappedBy = "courses")
-    private List<Student> students = new ArrayList<>();
+
+    private LocalDateTime updatedAt;
 
     // Constructors
     public Course() {}
@@ -47,6 +50,12 @@ public class Course {
         this.credits = credits;
     }
 
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -104,11 +113,11 @@ public class Course {
         this.teacher = teacher;
     }
 
-    public List<Student> getStudents() {
-        return students;
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
     }
 
-    public void setStudents(List<Student> students) {
-        this.students = students;
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
     }
 }
@@ -0,0 +1,7 @@
+package com.student_management_system.niloy.model;
+
+/**
+ * The searchable fields of a course, as indexed and returned by the type-ahead search.
+ */
+public record CourseSearchResult(Long id, String courseCode, String courseName, String description, Integer credits) {
+}
@@ -0,0 +1,8 @@
+package com.student_management_system.niloy.model;
+
+/**
+ * A course as returned by the JSON API.
+ */
+public record CourseView(Long id, String courseCode, String courseName, String description, Integer credits,
+                         Long departmentId, Long teacherId) {
+}
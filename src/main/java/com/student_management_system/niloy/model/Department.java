@@ -2,6 +2,7 @@ package com.student_management_system.niloy.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -10,7 +11,8 @@ import java.util.List;
 public class Department {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "departments_seq")
+    @SequenceGenerator(name = "departments_seq", sequenceName = "departments_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Department name is required")
@@ -20,15 +22,19 @@ public class Department {
     @Column(length = 500)
     private String description;
     
-    @OneToMany(mappedBy = "department", cascade = CascadeType.ALL)
+    // No cascades: members are moved away in chunks before a department is deleted,
+    // see DepartmentRetirementService
+    @OneToMany(mappedBy = "department")
     private List<Student> students = new ArrayList<>();
     
-    @OneToMany(mappedBy = "department", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "department")
     private List<Teacher> teachers = new ArrayList<>();
     
-    @OneToMany(mappedBy = "department", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "department")
     private List<Course> courses = new ArrayList<>();
 
+    private LocalDateTime updatedAt;
+
     // Constructors
     public Department() {}
 
@@ -37,6 +43,12 @@ public class Department {
         this.description = description;
     }
 
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -85,4 +97,12 @@ public class Department {
     public void setCourses(List<Course> courses) {
         this.courses = courses;
     }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -0,0 +1,7 @@
+package com.student_management_system.niloy.model;
+
+/**
+ * A department as returned by the JSON API.
+ */
+public record DepartmentView(Long id, String name, String description) {
+}
@@ -0,0 +1,7 @@
+package com.student_management_system.niloy.model;
+
+/**
+ * A (student, course) pair, identifying one enrollment by its natural key.
+ */
+public record EnrollmentKey(Long studentId, Long courseId) {
+}
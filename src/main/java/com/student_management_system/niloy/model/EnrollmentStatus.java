@@ -0,0 +1,5 @@
+package com.student_management_system.niloy.model;
+
+public enum EnrollmentStatus {
+    ENROLLED
+}
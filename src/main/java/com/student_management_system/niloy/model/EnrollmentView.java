@@ -0,0 +1,10 @@
+package com.student_management_system.niloy.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * One of the signed-in student's enrollments, with the course columns a client lists.
+ */
+public record EnrollmentView(Long courseId, String courseCode, String courseName, Integer credits,
+                             EnrollmentStatus status, LocalDateTime enrolledAt) {
+}
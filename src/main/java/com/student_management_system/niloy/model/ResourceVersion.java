@@ -0,0 +1,42 @@
+package com.student_management_system.niloy.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Row count, highest id and latest modification time of the rows behind an API response,
+ * read with one aggregate query so that conditional GETs can be answered without loading
+ * the rows. The highest id changes when a row is deleted and another inserted, which
+ * leaves the count alone and may leave the latest timestamp alone too.
+ */
+public record ResourceVersion(Long count, Long maxId, LocalDateTime lastModified) {
+
+    /**
+     * For responses that also show columns of a joined table.
+     */
+    public ResourceVersion(Long count, Long maxId, LocalDateTime lastModified, LocalDateTime joinedLastModified) {
+        this(count, maxId, lastModified == null || (joinedLastModified != null && joinedLastModified.isAfter(lastModified))
+                ? joinedLastModified : lastModified);
+    }
+
+    public boolean exists() {
+        return count > 0;
+    }
+
+    /**
+     * Weak ETag with the timestamp at full column precision, finer than Last-Modified's seconds.
+     */
+    public String getETag() {
+        long micros = lastModified == null ? 0
+                : lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastModified.getNano() / 1_000;
+        return "W/\"" + count + "-" + (maxId == null ? 0 : maxId) + "-" + micros + "\"";
+    }
+
+    /**
+     * Epoch milliseconds, or -1 if none of the rows carries a timestamp.
+     */
+    public long getLastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,7 @@
+package com.student_management_system.niloy.model;
+
+/**
+ * The searchable fields of a student, as indexed and returned by the type-ahead search.
+ */
+public record StudentSearchResult(Long id, String studentId, String firstName, String lastName, String email) {
+}
@@ -0,0 +1,7 @@
+package com.student_management_system.niloy.model;
+
+/**
+ * A student as returned by the JSON API. Contact details and the account stay server-side.
+ */
+public record StudentView(Long id, String studentId, String firstName, String lastName, Long departmentId) {
+}
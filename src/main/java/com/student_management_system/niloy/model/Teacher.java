@@ -7,14 +7,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "teachers")
+@Table(name = "teachers", indexes = @Index(name = "idx_teachers_department_id", columnList = "department_id"))
 public class Teacher {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teachers_seq")
+    @SequenceGenerator(name = "teachers_seq", sequenceName = "teachers_seq", allocationSize = 50)
     private Long id;
     
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
     
@@ -26,10 +27,10 @@ public class Teacher {
     @Column(nullable = false)
     private String lastName;
     
-    @Column(unique = true)
+    @Column(nullable = false, unique = true)
     private String employeeId;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id")
     @NotNull(message = "Department is required")
     private Department department;
@@ -1,20 +1,61 @@
 package com.student_management_system.niloy.repository;
 
 import com.student_management_system.niloy.model.Course;
+import com.student_management_system.niloy.model.CourseSearchResult;
+import com.student_management_system.niloy.model.CourseView;
 import com.student_management_system.niloy.model.Department;
+import com.student_management_system.niloy.model.ResourceVersion;
 import com.student_management_system.niloy.model.Teacher;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>, JpaSpecificationExecutor<Course> {
     Optional<Course> findByCourseCode(String courseCode);
     List<Course> findByDepartment(Department department);
     List<Course> findByDepartmentId(Long departmentId);
+    long countByDepartmentId(Long departmentId);
     List<Course> findByTeacher(Teacher teacher);
     List<Course> findByTeacherId(Long teacherId);
     boolean existsByCourseCode(String courseCode);
+    @Query("select x.courseCode from Course x where x.courseCode in :codes")
+    Set<String> findExistingCourseCodes(Collection<String> codes);
+    @Query("select x.id from Course x where x.id in :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
+    @EntityGraph(attributePaths = "department")
+    List<Course> findTop5ByOrderByIdDesc();
+    @EntityGraph(attributePaths = {"department", "teacher"})
+    List<Course> findAllByOrderByCourseCodeAsc();
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select x from Course x left join fetch x.department left join fetch x.teacher order by x.id")
+    Stream<Course> streamAllForExport();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.student_management_system.niloy.model.CourseSearchResult(x.id, x.courseCode, x.courseName, x.description, x.credits) from Course x")
+    Stream<CourseSearchResult> streamSearchResults();
+    @Query("select new com.student_management_system.niloy.model.CourseSearchResult(x.id, x.courseCode, x.courseName, x.description, x.credits) from Course x where x.id in :ids")
+    List<CourseSearchResult> findSearchResults(Collection<Long> ids);
+    @Query(value = "select new com.student_management_system.niloy.model.CourseView(x.id, x.courseCode, x.courseName, x.description, x.credits, x.department.id, x.teacher.id) from Course x",
+           countQuery = "select count(x) from Course x")
+    Page<CourseView> findViews(Pageable pageable);
+    @Query("select new com.student_management_system.niloy.model.CourseView(x.id, x.courseCode, x.courseName, x.description, x.credits, x.department.id, x.teacher.id) from Course x where x.id = :id")
+    Optional<CourseView> findViewById(Long id);
+    @Query("select new com.student_management_system.niloy.model.ResourceVersion(count(x), max(x.id), max(x.updatedAt)) from Course x")
+    ResourceVersion findVersion();
+    @Query("select new com.student_management_system.niloy.model.ResourceVersion(count(x), max(x.id), max(x.updatedAt)) from Course x where x.id = :id")
+    ResourceVersion findVersionById(Long id);
 }
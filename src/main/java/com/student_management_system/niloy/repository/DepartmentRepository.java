@@ -1,13 +1,26 @@
 package com.student_management_system.niloy.repository;
 
 import com.student_management_system.niloy.model.Department;
+import com.student_management_system.niloy.model.DepartmentView;
+import com.student_management_system.niloy.model.ResourceVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
     Optional<Department> findByName(String name);
     boolean existsByName(String name);
+    boolean existsBy();
+    @Query("select x.name from Department x where x.name in :names")
+    Set<String> findExistingNames(Collection<String> names);
+    @Query("select new com.student_management_system.niloy.model.DepartmentView(x.id, x.name, x.description) from Department x order by x.name")
+    List<DepartmentView> findAllViews();
+    @Query("select new com.student_management_system.niloy.model.ResourceVersion(count(x), max(x.id), max(x.updatedAt)) from Department x")
+    ResourceVersion findVersion();
 }
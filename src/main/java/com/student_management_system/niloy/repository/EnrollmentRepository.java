@@ -0,0 +1,39 @@
+package com.student_management_system.niloy.repository;
+
+import com.student_management_system.niloy.model.Course;
+import com.student_management_system.niloy.model.Enrollment;
+import com.student_management_system.niloy.model.EnrollmentKey;
+import com.student_management_system.niloy.model.EnrollmentView;
+import com.student_management_system.niloy.model.ResourceVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+    boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
+    long countByCourseId(Long courseId);
+
+    @Query("select c from Enrollment e join e.course c left join fetch c.teacher where e.student.id = :studentId order by c.courseCode")
+    List<Course> findCoursesByStudentId(Long studentId);
+
+    @Query("select new com.student_management_system.niloy.model.EnrollmentKey(e.student.id, e.course.id) from Enrollment e " +
+           "where e.student.id in :studentIds and e.course.id in :courseIds")
+    List<EnrollmentKey> findKeys(Collection<Long> studentIds, Collection<Long> courseIds);
+
+    @Modifying
+    @Query("delete from Enrollment e where e.student.id = :studentId and e.course.id = :courseId")
+    int deleteByStudentIdAndCourseId(Long studentId, Long courseId);
+
+    @Query("select new com.student_management_system.niloy.model.EnrollmentView(c.id, c.courseCode, c.courseName, c.credits, e.status, e.createdAt) " +
+           "from Enrollment e join e.course c where e.student.id = :studentId order by c.courseCode")
+    List<EnrollmentView> findViewsByStudentId(Long studentId);
+
+    @Query("select new com.student_management_system.niloy.model.ResourceVersion(count(e), max(e.id), max(e.updatedAt), max(c.updatedAt)) " +
+           "from Enrollment e join e.course c where e.student.id = :studentId")
+    ResourceVersion findVersionByStudentId(Long studentId);
+}
@@ -0,0 +1,59 @@
+package com.student_management_system.niloy.repository;
+
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Reusable filters for the paginated management listings.
+ */
+public final class ListingSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private ListingSpecifications() {}
+
+    /**
+     * Fetch-joins the given to-one associations so that rendering a listing row
+     * does not trigger one extra SELECT per association.
+     */
+    public static <T> Specification<T> fetching(String... attributes) {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                for (String attribute : attributes) {
+                    root.fetch(attribute, JoinType.LEFT);
+                }
+            }
+            return cb.conjunction();
+        };
+    }
+
+    public static <T> Specification<T> inDepartment(Long departmentId) {
+        if (departmentId == null) {
+            return Specification.unrestricted();
+        }
+        return (root, query, cb) -> cb.equal(root.get("department").get("id"), departmentId);
+    }
+
+    /**
+     * Case-insensitive substring match on any of the attributes. LIKE wildcards in the
+     * text are escaped, so searching for "50%" or "a_b" matches those characters literally.
+     */
+    public static <T> Specification<T> matches(String text, String... attributes) {
+        if (text == null || text.isBlank()) {
+            return Specification.unrestricted();
+        }
+        String pattern = "%" + escapeLike(text.trim().toLowerCase()) + "%";
+        return (root, query, cb) -> {
+            Predicate[] predicates = new Predicate[attributes.length];
+            for (int i = 0; i < attributes.length; i++) {
+                predicates[i] = cb.like(cb.lower(root.get(attributes[i])), pattern, LIKE_ESCAPE);
+            }
+            return cb.or(predicates);
+        };
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -2,17 +2,63 @@ package com.student_management_system.niloy.repository;
 
 import com.student_management_system.niloy.model.Student;
 import com.student_management_system.niloy.model.Department;
+import com.student_management_system.niloy.model.StudentSearchResult;
+import com.student_management_system.niloy.model.StudentView;
+import com.student_management_system.niloy.model.ResourceVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student> {
     Optional<Student> findByStudentId(String studentId);
+    @EntityGraph(attributePaths = {"user", "department"})
     Optional<Student> findByUserId(Long userId);
+    @Query("select x.id from Student x where x.user.id = :userId")
+    Optional<Long> findIdByUserId(Long userId);
+    @EntityGraph(attributePaths = {"user", "department"})
+    Optional<Student> findWithProfileById(Long id);
     List<Student> findByDepartment(Department department);
     List<Student> findByDepartmentId(Long departmentId);
+    long countByDepartmentId(Long departmentId);
     boolean existsByStudentId(String studentId);
+    @Query("select x.studentId from Student x where x.studentId in :ids")
+    Set<String> findExistingStudentIds(Collection<String> ids);
+    @Query("select x.id from Student x where x.id in :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
+    @EntityGraph(attributePaths = {"user", "department"})
+    List<Student> findTop5ByOrderByIdDesc();
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select x from Student x join fetch x.user left join fetch x.department order by x.id")
+    Stream<Student> streamAllForExport();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.student_management_system.niloy.model.StudentSearchResult(x.id, x.studentId, x.firstName, x.lastName, u.email) from Student x join x.user u")
+    Stream<StudentSearchResult> streamSearchResults();
+    @Query("select new com.student_management_system.niloy.model.StudentSearchResult(x.id, x.studentId, x.firstName, x.lastName, u.email) from Student x join x.user u where x.id in :ids")
+    List<StudentSearchResult> findSearchResults(Collection<Long> ids);
+    @Query("select new com.student_management_system.niloy.model.StudentSearchResult(x.id, x.studentId, x.firstName, x.lastName, u.email) from Student x join x.user u where x.studentId in :studentIds")
+    List<StudentSearchResult> findSearchResultsByStudentIds(Collection<String> studentIds);
+    @Query(value = "select new com.student_management_system.niloy.model.StudentView(x.id, x.studentId, x.firstName, x.lastName, x.department.id) from Student x",
+           countQuery = "select count(x) from Student x")
+    Page<StudentView> findViews(Pageable pageable);
+    @Query("select new com.student_management_system.niloy.model.StudentView(x.id, x.studentId, x.firstName, x.lastName, x.department.id) from Student x where x.id = :id")
+    Optional<StudentView> findViewById(Long id);
+    @Query("select new com.student_management_system.niloy.model.ResourceVersion(count(x), max(x.id), max(x.updatedAt)) from Student x")
+    ResourceVersion findVersion();
+    @Query("select new com.student_management_system.niloy.model.ResourceVersion(count(x), max(x.id), max(x.updatedAt)) from Student x where x.id = :id")
+    ResourceVersion findVersionById(Long id);
 }
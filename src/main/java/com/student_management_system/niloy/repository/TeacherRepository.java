@@ -2,17 +2,38 @@ package com.student_management_system.niloy.repository;
 
 import com.student_management_system.niloy.model.Teacher;
 import com.student_management_system.niloy.model.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+public interface TeacherRepository extends JpaRepository<Teacher, Long>, JpaSpecificationExecutor<Teacher> {
     Optional<Teacher> findByEmployeeId(String employeeId);
+    @EntityGraph(attributePaths = {"user", "department"})
     Optional<Teacher> findByUserId(Long userId);
+    @Query("select x.id from Teacher x where x.user.id = :userId")
+    Optional<Long> findIdByUserId(Long userId);
+    @EntityGraph(attributePaths = {"user", "department"})
+    Optional<Teacher> findWithProfileById(Long id);
     List<Teacher> findByDepartment(Department department);
     List<Teacher> findByDepartmentId(Long departmentId);
+    long countByDepartmentId(Long departmentId);
     boolean existsByEmployeeId(String employeeId);
+    @Query("select x.employeeId from Teacher x where x.employeeId in :ids")
+    Set<String> findExistingEmployeeIds(Collection<String> ids);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select x from Teacher x join fetch x.user left join fetch x.department order by x.id")
+    Stream<Teacher> streamAllForExport();
 }
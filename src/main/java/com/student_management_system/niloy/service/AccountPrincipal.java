@@ -0,0 +1,77 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.model.Role;
+import com.student_management_system.niloy.model.User;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+
+/**
+ * Authenticated principal kept in the session. It carries the user id, role and
+ * the id of the matching Student/Teacher profile, resolved once at login, so
+ * request handlers do not have to look them up again.
+ */
+public class AccountPrincipal extends org.springframework.security.core.userdetails.User {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long userId;
+    private final Role role;
+    private final Long profileId;
+
+    public AccountPrincipal(User user, Long profileId) {
+        super(user.getUsername(),
+                user.getPassword(),
+                user.isEnabled(),
+                true, true, true,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+        this.userId = user.getId();
+        this.role = user.getRole();
+        this.profileId = profileId;
+    }
+
+    private AccountPrincipal(AccountPrincipal principal, Long profileId) {
+        // The password has been erased from the session copy after login
+        super(principal.getUsername(),
+                principal.getPassword() != null ? principal.getPassword() : "",
+                principal.isEnabled(),
+                true, true, true,
+                principal.getAuthorities());
+        this.userId = principal.userId;
+        this.role = principal.role;
+        this.profileId = profileId;
+    }
+
+    /** A copy of this principal for a profile created after login. */
+    public AccountPrincipal withProfileId(Long profileId) {
+        return new AccountPrincipal(this, profileId);
+    }
+
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * Primary key of the Student or Teacher row owned by this user,
+     * or null if the profile had not been created at login time.
+     */
+    public Long getProfileId() {
+        return profileId;
+    }
+
+    /**
+     * The profile id for handlers that act on the user's own profile.
+     * A profile created after login has been picked up by ProfileRefreshInterceptor by now.
+     */
+    public Long requireProfileId() {
+        if (profileId == null) {
+            throw new ProfileNotFoundException();
+        }
+        return profileId;
+    }
+}
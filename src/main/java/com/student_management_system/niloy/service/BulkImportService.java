@@ -0,0 +1,595 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.model.Department;
+import com.student_management_system.niloy.model.Role;
+import com.student_management_system.niloy.model.Student;
+import com.student_management_system.niloy.model.Teacher;
+import com.student_management_system.niloy.model.User;
+import com.student_management_system.niloy.repository.DepartmentRepository;
+import com.student_management_system.niloy.repository.StudentRepository;
+import com.student_management_system.niloy.repository.TeacherRepository;
+import com.student_management_system.niloy.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SequenceGenerator;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Streaming CSV import of student and teacher accounts.
+ *
+ * The upload is spooled to a temp file and processed by a single background worker
+ * in chunks: each chunk is validated, checked for duplicates with a handful of
+ * IN queries, has its passwords hashed in parallel on a bounded pool and is then
+ * written to users and students/teachers with JDBC batch inserts in one transaction.
+ * Ids come from the same pooled sequences that JPA uses.
+ * The spool file holds plaintext passwords until it is deleted, so it is readable by
+ * the owner only.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+$");
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.import.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${app.import.max-queued-jobs:10}")
+    private int maxQueuedJobs;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private ExecutorService jobExecutor;
+    private ExecutorService hashExecutor;
+    private Dialect dialect;
+
+    @PostConstruct
+    void startExecutors() {
+        dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        hashExecutor = Executors.newFixedThreadPool(threads, namedThreads("csv-import-hash-"));
+        // One import at a time; further uploads wait in a bounded queue
+        jobExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueuedJobs), namedThreads("csv-import-"));
+    }
+
+    @PreDestroy
+    void stopExecutors() {
+        jobExecutor.shutdownNow();
+        hashExecutor.shutdownNow();
+    }
+
+    /**
+     * Spools the upload to disk and queues it for import.
+     * The returned job can be polled with {@link #getJob(String)}.
+     */
+    public ImportJob submit(Role kind, MultipartFile file) throws IOException {
+        evictFinishedJobs();
+
+        Path spool = createSpoolFile();
+        // Written in place: Files.copy with REPLACE_EXISTING would recreate it with default permissions
+        try (InputStream in = file.getInputStream(); OutputStream out = Files.newOutputStream(spool)) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(kind, file.getOriginalFilename());
+        jobs.put(job.getId(), job);
+        try {
+            jobExecutor.execute(() -> run(job, spool));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(spool);
+            throw new RuntimeException("Too many imports are queued, try again later");
+        }
+        return job;
+    }
+
+    static Path createSpoolFile() throws IOException {
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            return Files.createTempFile("csv-import-", ".csv",
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        }
+        Path spool = Files.createTempFile("csv-import-", ".csv");
+        File file = spool.toFile();
+        file.setReadable(false, false);
+        file.setWritable(false, false);
+        file.setReadable(true, true);
+        file.setWritable(true, true);
+        return spool;
+    }
+
+    public Optional<ImportJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void run(ImportJob job, Path spool) {
+        job.start();
+        long started = System.nanoTime();
+        try (BufferedReader reader = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+            importRows(job, reader);
+            job.complete();
+            log.info("CSV import {} finished: {} imported, {} rejected in {} ms", job.getId(),
+                    job.getImportedRows(), job.getErrorCount(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("CSV import {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException ignored) {
+                // temp file is cleaned up by the OS eventually
+            }
+        }
+    }
+
+    void importRows(ImportJob job, BufferedReader reader) throws IOException {
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("The file is empty");
+        }
+        Map<String, Integer> header = parseHeader(headerLine);
+        List<String> required = requiredColumns(job.getKind());
+        for (String column : required) {
+            if (!header.containsKey(column)) {
+                throw new IllegalArgumentException("Missing column: " + column);
+            }
+        }
+
+        Map<String, Long> departments = loadDepartments();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenProfileIds = new HashSet<>();
+
+        List<CsvRow> chunk = new ArrayList<>(chunkSize);
+        int lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            // A quoted field may run on to the next lines: read up to its closing quote
+            int firstLine = lineNumber;
+            CsvRecord record = new CsvRecord();
+            while (!record.addLine(line) && (line = reader.readLine()) != null) {
+                lineNumber++;
+            }
+            String error = record.getError() != null ? record.getError()
+                    : !record.isComplete() ? "Quoted field is not closed"
+                    : lineNumber > firstLine ? "Line breaks inside quoted fields are not supported"
+                    : null;
+            if (error != null) {
+                job.addError(firstLine, error);
+                job.addProcessed(1);
+                continue;
+            }
+            chunk.add(new CsvRow(lineNumber, header, record.getFields()));
+            if (chunk.size() == chunkSize) {
+                processChunk(job, chunk, departments, seenUsernames, seenEmails, seenProfileIds);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(job, chunk, departments, seenUsernames, seenEmails, seenProfileIds);
+        }
+    }
+
+    private void processChunk(ImportJob job, List<CsvRow> chunk, Map<String, Long> departments,
+                              Set<String> seenUsernames, Set<String> seenEmails, Set<String> seenProfileIds) {
+        Role kind = job.getKind();
+        String profileColumn = profileIdColumn(kind);
+
+        // 1. Field validation and duplicates inside the file
+        List<CsvRow> valid = new ArrayList<>(chunk.size());
+        for (CsvRow row : chunk) {
+            String error = validate(row, kind, departments);
+            if (error == null && !seenUsernames.add(row.get("username"))) {
+                error = "Duplicate username in file";
+            }
+            if (error == null && !seenEmails.add(row.get("email"))) {
+                error = "Duplicate email in file";
+            }
+            if (error == null && !seenProfileIds.add(row.get(profileColumn))) {
+                error = "Duplicate " + profileColumn + " in file";
+            }
+            if (error != null) {
+                job.addError(row.lineNumber, error);
+            } else {
+                valid.add(row);
+            }
+        }
+
+        // 2. Duplicates against the database, three IN queries per chunk
+        if (!valid.isEmpty()) {
+            Set<String> usernames = userRepository.findExistingUsernames(collect(valid, "username"));
+            Set<String> emails = userRepository.findExistingEmails(collect(valid, "email"));
+            Set<String> profileIds = kind == Role.STUDENT
+                    ? studentRepository.findExistingStudentIds(collect(valid, profileColumn))
+                    : teacherRepository.findExistingEmployeeIds(collect(valid, profileColumn));
+
+            valid.removeIf(row -> {
+                String error = usernames.contains(row.get("username")) ? "Username already exists"
+                        : emails.contains(row.get("email")) ? "Email already exists"
+                        : profileIds.contains(row.get(profileColumn)) ? profileColumn + " already exists"
+                        : null;
+                if (error != null) {
+                    job.addError(row.lineNumber, error);
+                }
+                return error != null;
+            });
+        }
+
+        // 3. Hash passwords in parallel, 4. write the chunk with batched inserts
+        if (!valid.isEmpty()) {
+            hashPasswords(valid);
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(kind, valid, departments));
+                job.addImported(valid.size());
+            } catch (RuntimeException e) {
+                log.warn("CSV import {} chunk rejected by the database", job.getId(), e);
+                for (CsvRow row : valid) {
+                    job.addError(row.lineNumber, "Rejected by the database: " + rootMessage(e));
+                }
+            }
+        }
+        job.addProcessed(chunk.size());
+    }
+
+    private void hashPasswords(List<CsvRow> rows) {
+        List<Future<String>> futures = new ArrayList<>(rows.size());
+        for (CsvRow row : rows) {
+            String password = row.get("password");
+            futures.add(hashExecutor.submit(() -> passwordEncoder.encode(password)));
+        }
+        try {
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i).passwordHash = futures.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void insert(Role kind, List<CsvRow> rows, Map<String, Long> departments) {
+        long[] userIds = nextIds(User.class, rows.size());
+        jdbcTemplate.batchUpdate(
+                "insert into users (id, username, password, email, role, enabled) values (?, ?, ?, ?, ?, ?)",
+                indexes(rows.size()), rows.size(), (ps, i) -> {
+                    CsvRow row = rows.get(i);
+                    ps.setLong(1, userIds[i]);
+                    ps.setString(2, row.get("username"));
+                    ps.setString(3, row.passwordHash);
+                    ps.setString(4, row.get("email"));
+                    ps.setString(5, kind.name());
+                    ps.setBoolean(6, true);
+                });
+
+        String sql = kind == Role.STUDENT
+                ? "insert into students (id, user_id, first_name, last_name, student_id, department_id, phone, address, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)"
+                : "insert into teachers (id, user_id, first_name, last_name, employee_id, department_id, phone, address, specialization) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        long[] profileIds = nextIds(kind == Role.STUDENT ? Student.class : Teacher.class, rows.size());
+        Timestamp importedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(sql, indexes(rows.size()), rows.size(), (ps, i) -> {
+            CsvRow row = rows.get(i);
+            ps.setLong(1, profileIds[i]);
+            ps.setLong(2, userIds[i]);
+            ps.setString(3, row.get("firstName"));
+            ps.setString(4, row.get("lastName"));
+            ps.setString(5, row.get(profileIdColumn(kind)));
+            ps.setLong(6, departments.get(row.get("department").toLowerCase(Locale.ROOT)));
+            ps.setString(7, row.getOptional("phone"));
+            ps.setString(8, row.getOptional("address"));
+            if (kind == Role.TEACHER) {
+                ps.setString(9, row.getOptional("specialization"));
+            } else {
+                ps.setTimestamp(9, importedAt);
+            }
+        });
+        if (kind == Role.STUDENT) {
+            searchService.studentsImported(collect(rows, "studentId"));
+        }
+    }
+
+    /**
+     * Takes ids from the entity's sequence with the dialect's nextval syntax. Like Hibernate's
+     * pooled optimizer, each nextval reserves the allocationSize ids ending at the returned
+     * value, so these rows and the ones saved through JPA never share an id.
+     */
+    private long[] nextIds(Class<?> entityType, int count) {
+        SequenceGenerator sequence = sequenceOf(entityType);
+        String sql = dialect.getSequenceSupport().getSequenceNextValString(sequence.sequenceName());
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            long high = jdbcTemplate.queryForObject(sql, Long.class);
+            for (long id = Math.max(1, high - sequence.allocationSize() + 1); id <= high && filled < count; id++) {
+                ids[filled++] = id;
+            }
+        }
+        return ids;
+    }
+
+    private static SequenceGenerator sequenceOf(Class<?> entityType) {
+        try {
+            return entityType.getDeclaredField("id").getAnnotation(SequenceGenerator.class);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(entityType.getSimpleName() + " has no sequence id", e);
+        }
+    }
+
+    private static List<Integer> indexes(int count) {
+        return IntStream.range(0, count).boxed().toList();
+    }
+
+    private String validate(CsvRow row, Role kind, Map<String, Long> departments) {
+        if (row.columnCountMismatch()) {
+            return "Expected " + row.header.size() + " columns";
+        }
+        for (String column : requiredColumns(kind)) {
+            if (row.get(column).isEmpty()) {
+                return column + " is required";
+            }
+        }
+        String username = row.get("username");
+        if (username.length() < 3 || username.length() > 50) {
+            return "Username must be 3 to 50 characters";
+        }
+        if (row.get("password").length() < 6) {
+            return "Password must be at least 6 characters";
+        }
+        if (!EMAIL.matcher(row.get("email")).matches()) {
+            return "Email should be valid";
+        }
+        if (!departments.containsKey(row.get("department").toLowerCase(Locale.ROOT))) {
+            return "Unknown department: " + row.get("department");
+        }
+        return null;
+    }
+
+    /** Departments by lower-case name and by id, so the CSV may use either. */
+    private Map<String, Long> loadDepartments() {
+        Map<String, Long> departments = new HashMap<>();
+        for (Department department : departmentRepository.findAll()) {
+            departments.put(department.getName().toLowerCase(Locale.ROOT), department.getId());
+            departments.put(department.getId().toString(), department.getId());
+        }
+        return departments;
+    }
+
+    private void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    static List<String> requiredColumns(Role kind) {
+        return List.of("username", "password", "email", "firstName", "lastName", profileIdColumn(kind), "department");
+    }
+
+    private static String profileIdColumn(Role kind) {
+        return kind == Role.STUDENT ? "studentId" : "employeeId";
+    }
+
+    private static List<String> collect(List<CsvRow> rows, String column) {
+        List<String> values = new ArrayList<>(rows.size());
+        for (CsvRow row : rows) {
+            values.add(row.get(column));
+        }
+        return values;
+    }
+
+    private static String rootMessage(Throwable e) {
+        while (e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e.getMessage();
+    }
+
+    private static Map<String, Integer> parseHeader(String line) {
+        CsvRecord record = new CsvRecord();
+        if (!record.addLine(line) || record.getError() != null) {
+            throw new IllegalArgumentException("Malformed header: "
+                    + (record.getError() != null ? record.getError() : "quoted field is not closed"));
+        }
+        Map<String, Integer> header = new HashMap<>();
+        List<String> columns = record.getFields();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i), i);
+        }
+        return header;
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        return Thread.ofPlatform().name(prefix, 1).daemon(true).factory();
+    }
+
+    /**
+     * One CSV record, split into fields by a state machine that is fed a line at a time.
+     * A double quote opens a quoted field only at the start of a field, and "" escapes a quote
+     * inside one. A quote anywhere else in an unquoted field is an error that ends the record
+     * at its line. It does not open a quoted field that would swallow the lines after it.
+     */
+    static class CsvRecord {
+
+        private enum State { FIELD_START, UNQUOTED, QUOTED, QUOTE_IN_QUOTED }
+
+        private final List<String> fields = new ArrayList<>();
+        private final StringBuilder current = new StringBuilder();
+        private State state = State.FIELD_START;
+        private String error;
+
+        /** Feeds the next line; returns false while a quoted field is still open at its end. */
+        boolean addLine(String line) {
+            if (state == State.QUOTED) {
+                current.append('\n');
+            }
+            for (int i = 0; i < line.length() && error == null; i++) {
+                accept(line.charAt(i));
+            }
+            if (state == State.QUOTED && error == null) {
+                return false;
+            }
+            fields.add(current.toString().trim());
+            state = null;
+            return true;
+        }
+
+        private void accept(char c) {
+            switch (state) {
+                case FIELD_START -> {
+                    if (c == '"') {
+                        // Leading blanks before the opening quote are not part of the field
+                        current.setLength(0);
+                        state = State.QUOTED;
+                    } else if (c == ',') {
+                        endField();
+                    } else {
+                        current.append(c);
+                        state = Character.isWhitespace(c) ? State.FIELD_START : State.UNQUOTED;
+                    }
+                }
+                case UNQUOTED -> {
+                    if (c == '"') {
+                        error = "Quote inside unquoted field " + (fields.size() + 1)
+                                + ": quote the whole field and double the quote";
+                    } else if (c == ',') {
+                        endField();
+                    } else {
+                        current.append(c);
+                    }
+                }
+                case QUOTED -> {
+                    if (c == '"') {
+                        state = State.QUOTE_IN_QUOTED;
+                    } else {
+                        current.append(c);
+                    }
+                }
+                case QUOTE_IN_QUOTED -> {
+                    if (c == '"') {
+                        current.append('"');
+                        state = State.QUOTED;
+                    } else if (c == ',') {
+                        endField();
+                    } else if (!Character.isWhitespace(c)) {
+                        error = "Text after the closing quote of field " + (fields.size() + 1);
+                    }
+                }
+            }
+        }
+
+        private void endField() {
+            fields.add(current.toString().trim());
+            current.setLength(0);
+            state = State.FIELD_START;
+        }
+
+        /** False if the input ended inside a quoted field. */
+        boolean isComplete() {
+            return state == null;
+        }
+
+        String getError() {
+            return error;
+        }
+
+        List<String> getFields() {
+            return fields;
+        }
+    }
+
+    private static class CsvRow {
+
+        private final int lineNumber;
+        private final Map<String, Integer> header;
+        private final List<String> values;
+        private String passwordHash;
+
+        CsvRow(int lineNumber, Map<String, Integer> header, List<String> values) {
+            this.lineNumber = lineNumber;
+            this.header = header;
+            this.values = values;
+        }
+
+        boolean columnCountMismatch() {
+            return values.size() != header.size();
+        }
+
+        String get(String column) {
+            Integer index = header.get(column);
+            return index == null || index >= values.size() ? "" : values.get(index);
+        }
+
+        String getOptional(String column) {
+            String value = get(column);
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
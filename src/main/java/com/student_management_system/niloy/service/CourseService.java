@@ -1,49 +1,142 @@
 package com.student_management_system.niloy.service;
 
 import com.student_management_system.niloy.model.Course;
+import com.student_management_system.niloy.model.CourseView;
+import com.student_management_system.niloy.model.ResourceVersion;
 import com.student_management_system.niloy.repository.CourseRepository;
+import com.student_management_system.niloy.repository.EnrollmentRepository;
+import com.student_management_system.niloy.repository.ListingSpecifications;
+import com.student_management_system.niloy.config.CacheConfig;
+import com.student_management_system.niloy.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class CourseService {
 
+    private static final Set<String> SORTABLE = Set.of("courseCode", "courseName");
+
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private SearchService searchService;
+
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.COURSE_CATALOG, CacheConfig.COURSE_CATALOG_HTML}, allEntries = true)
     public Course createCourse(Course course) {
         if (courseRepository.existsByCourseCode(course.getCourseCode())) {
             throw new RuntimeException("Course code already exists");
         }
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        searchService.courseChanged(saved.getId());
+        return saved;
+    }
+
+    /**
+     * Saves the courses with one duplicate check and batched inserts.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.COURSE_CATALOG, CacheConfig.COURSE_CATALOG_HTML}, allEntries = true)
+    public List<Course> createCourses(List<Course> courses) {
+        Set<String> codes = new HashSet<>();
+        for (Course course : courses) {
+            if (!codes.add(course.getCourseCode())) {
+                throw new RuntimeException("Course code already exists: " + course.getCourseCode());
+            }
+        }
+        Set<String> existing = courseRepository.findExistingCourseCodes(codes);
+        if (!existing.isEmpty()) {
+            throw new RuntimeException("Course code already exists: " + String.join(", ", existing));
+        }
+        List<Course> saved = courseRepository.saveAll(courses);
+        searchService.coursesChanged(saved.stream().map(Course::getId).toList());
+        return saved;
     }
 
+    @Cacheable(cacheNames = CacheConfig.COURSE_CATALOG, key = "'all'")
+    @Transactional(readOnly = true)
     public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+        return List.copyOf(courseRepository.findAllByOrderByCourseCodeAsc());
     }
 
+    @Transactional(readOnly = true)
+    public KeysetPage<Course> getCoursePage(ListingCriteria criteria) {
+        Sort sort = criteria.resolveSort(SORTABLE, "courseCode");
+        Specification<Course> spec = ListingSpecifications.<Course>fetching("department", "teacher")
+                .and(ListingSpecifications.inDepartment(criteria.getDepartmentId()))
+                .and(ListingSpecifications.matches(criteria.getQ(), "courseCode", "courseName"));
+
+        return KeysetPage.of(courseRepository.findBy(spec, query -> query
+                .sortBy(sort)
+                .limit(criteria.getPageSize())
+                .scroll(KeysetPage.decode(criteria.getCursor(), sort))));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<CourseView> getCourseViews(Pageable pageable) {
+        return courseRepository.findViews(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CourseView> getCourseView(Long id) {
+        return courseRepository.findViewById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getCatalogVersion() {
+        return courseRepository.findVersion();
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getCourseVersion(Long id) {
+        return courseRepository.findVersionById(id);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Course> getCourseById(Long id) {
         return courseRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Course> getCourseByCourseCode(String courseCode) {
         return courseRepository.findByCourseCode(courseCode);
     }
 
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByDepartmentId(Long departmentId) {
         return courseRepository.findByDepartmentId(departmentId);
     }
 
+    @Transactional(readOnly = true)
+    public List<Course> getCoursesByStudentId(Long studentId) {
+        return enrollmentRepository.findCoursesByStudentId(studentId);
+    }
+
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByTeacherId(Long teacherId) {
         return courseRepository.findByTeacherId(teacherId);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.COURSE_CATALOG, CacheConfig.COURSE_CATALOG_HTML}, allEntries = true)
     public Course updateCourse(Long id, Course courseDetails) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -54,11 +147,15 @@ public class CourseService {
         course.setDepartment(courseDetails.getDepartment());
         course.setTeacher(courseDetails.getTeacher());
 
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        searchService.courseChanged(saved.getId());
+        return saved;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.COURSE_CATALOG, CacheConfig.COURSE_CATALOG_HTML}, allEntries = true)
     public void deleteCourse(Long id) {
         courseRepository.deleteById(id);
+        searchService.courseRemoved(id);
     }
 }
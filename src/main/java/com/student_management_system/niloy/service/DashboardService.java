@@ -0,0 +1,41 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.repository.CourseRepository;
+import com.student_management_system.niloy.repository.DepartmentRepository;
+import com.student_management_system.niloy.repository.StudentRepository;
+import com.student_management_system.niloy.repository.TeacherRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class DashboardService {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    /**
+     * Builds the teacher dashboard from COUNT(*) queries and two "latest 5" queries,
+     * so its cost does not grow with the size of the institution.
+     */
+    @Transactional(readOnly = true)
+    public DashboardSummary getSummary() {
+        return new DashboardSummary(
+                studentRepository.count(),
+                teacherRepository.count(),
+                courseRepository.count(),
+                departmentRepository.count(),
+                studentRepository.findTop5ByOrderByIdDesc(),
+                courseRepository.findTop5ByOrderByIdDesc()
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.model.Course;
+import com.student_management_system.niloy.model.Student;
+
+import java.util.List;
+
+/**
+ * Aggregate figures and latest rows shown on the teacher dashboard.
+ */
+public class DashboardSummary {
+
+    private final long studentCount;
+    private final long teacherCount;
+    private final long courseCount;
+    private final long departmentCount;
+    private final List<Student> recentStudents;
+    private final List<Course> recentCourses;
+
+    public DashboardSummary(long studentCount, long teacherCount, long courseCount, long departmentCount,
+                            List<Student> recentStudents, List<Course> recentCourses) {
+        this.studentCount = studentCount;
+        this.teacherCount = teacherCount;
+        this.courseCount = courseCount;
+        this.departmentCount = departmentCount;
+        this.recentStudents = recentStudents;
+        this.recentCourses = recentCourses;
+    }
+
+    // Getters
+    public long getStudentCount() {
+        return studentCount;
+    }
+
+    public long getTeacherCount() {
+        return teacherCount;
+    }
+
+    public long getCourseCount() {
+        return courseCount;
+    }
+
+    public long getDepartmentCount() {
+        return departmentCount;
+    }
+
+    public List<Student> getRecentStudents() {
+        return recentStudents;
+    }
+
+    public List<Course> getRecentCourses() {
+        return recentCourses;
+    }
+}
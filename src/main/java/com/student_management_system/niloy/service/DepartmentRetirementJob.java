@@ -0,0 +1,165 @@
+package com.student_management_system.niloy.service;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of retiring one department: its students and teachers move to another
+ * department, its courses either move with them or are archived, then it is deleted.
+ * Updated by the retirement worker and read by the status page while it runs.
+ */
+public class DepartmentRetirementJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public enum CourseHandling {
+        /** Courses move to the target department along with the people. */
+        MOVE,
+        /** Courses keep their enrollments but no longer belong to any department. */
+        ARCHIVE
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long departmentId;
+    private final String departmentName;
+    private final Long targetDepartmentId;
+    private final String targetDepartmentName;
+    private final CourseHandling courseHandling;
+    private final Instant submittedAt = Instant.now();
+    private final AtomicLong movedStudents = new AtomicLong();
+    private final AtomicLong movedTeachers = new AtomicLong();
+    private final AtomicLong movedCourses = new AtomicLong();
+    private volatile long totalStudents;
+    private volatile long totalTeachers;
+    private volatile long totalCourses;
+    private volatile Status status = Status.QUEUED;
+    private volatile String failureMessage;
+    private volatile Instant finishedAt;
+
+    public DepartmentRetirementJob(Long departmentId, String departmentName, Long targetDepartmentId,
+                                   String targetDepartmentName, CourseHandling courseHandling) {
+        this.departmentId = departmentId;
+        this.departmentName = departmentName;
+        this.targetDepartmentId = targetDepartmentId;
+        this.targetDepartmentName = targetDepartmentName;
+        this.courseHandling = courseHandling;
+    }
+
+    void start(long students, long teachers, long courses) {
+        totalStudents = students;
+        totalTeachers = teachers;
+        totalCourses = courses;
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        status = Status.COMPLETED;
+        finishedAt = Instant.now();
+    }
+
+    void fail(String message) {
+        failureMessage = message;
+        status = Status.FAILED;
+        finishedAt = Instant.now();
+    }
+
+    void addStudents(int rows) {
+        movedStudents.addAndGet(rows);
+    }
+
+    void addTeachers(int rows) {
+        movedTeachers.addAndGet(rows);
+    }
+
+    void addCourses(int rows) {
+        movedCourses.addAndGet(rows);
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    /** Rows moved so far out of those counted at the start, capped at 100 for rows added meanwhile. */
+    public int getPercentComplete() {
+        if (status == Status.COMPLETED) {
+            return 100;
+        }
+        long total = totalStudents + totalTeachers + totalCourses;
+        if (total == 0) {
+            return 0;
+        }
+        long moved = movedStudents.get() + movedTeachers.get() + movedCourses.get();
+        return (int) Math.min(99, moved * 100 / total);
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+
+    public Long getTargetDepartmentId() {
+        return targetDepartmentId;
+    }
+
+    public String getTargetDepartmentName() {
+        return targetDepartmentName;
+    }
+
+    public CourseHandling getCourseHandling() {
+        return courseHandling;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+
+    public long getMovedStudents() {
+        return movedStudents.get();
+    }
+
+    public long getMovedTeachers() {
+        return movedTeachers.get();
+    }
+
+    public long getMovedCourses() {
+        return movedCourses.get();
+    }
+
+    public long getTotalStudents() {
+        return totalStudents;
+    }
+
+    public long getTotalTeachers() {
+        return totalTeachers;
+    }
+
+    public long getTotalCourses() {
+        return totalCourses;
+    }
+}
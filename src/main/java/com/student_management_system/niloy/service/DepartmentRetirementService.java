@@ -0,0 +1,252 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.config.CacheConfig;
+import com.student_management_system.niloy.model.Department;
+import com.student_management_system.niloy.repository.CourseRepository;
+import com.student_management_system.niloy.repository.DepartmentRepository;
+import com.student_management_system.niloy.repository.StudentRepository;
+import com.student_management_system.niloy.repository.TeacherRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+
+/**
+ * Retires a department without loading its members.
+ *
+ * Students and teachers are reassigned, and courses reassigned or archived, with
+ * set-based UPDATEs of at most chunk-size rows, each in its own short transaction, so
+ * only one chunk of students or courses is ever locked and only for one statement.
+ * The department row itself is deleted last, once nothing references it any more.
+ * Jobs run one at a time on a single background worker; enrollments are untouched.
+ */
+@Service
+public class DepartmentRetirementService {
+
+    private static final Logger log = LoggerFactory.getLogger(DepartmentRetirementService.class);
+
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+
+    /** Rounds of moving members that were added while the job ran, before giving up. */
+    private static final int MAX_PASSES = 3;
+
+    private static final List<String> REFERENCE_DATA_CACHES = List.of(CacheConfig.DEPARTMENTS,
+            CacheConfig.COURSE_CATALOG, CacheConfig.DEPARTMENT_OPTIONS_HTML, CacheConfig.COURSE_CATALOG_HTML);
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectProvider<CacheManager> cacheManager;
+
+    @Value("${app.retirement.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.retirement.chunk-pause:0ms}")
+    private Duration chunkPause;
+
+    @Value("${app.retirement.max-queued-jobs:10}")
+    private int maxQueuedJobs;
+
+    private final Map<String, DepartmentRetirementJob> jobs = new ConcurrentHashMap<>();
+
+    private ExecutorService jobExecutor;
+
+    @PostConstruct
+    void startExecutor() {
+        jobExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueuedJobs),
+                Thread.ofPlatform().name("department-retirement-", 1).daemon(true).factory());
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        jobExecutor.shutdownNow();
+    }
+
+    /**
+     * Queues the retirement of a department into another one.
+     * The returned job can be polled with {@link #getJob(String)}.
+     */
+    public DepartmentRetirementJob submit(Long departmentId, Long targetDepartmentId,
+                                          DepartmentRetirementJob.CourseHandling courseHandling) {
+        evictFinishedJobs();
+        if (departmentId.equals(targetDepartmentId)) {
+            throw new RuntimeException("Choose another department to move the members to");
+        }
+        Department department = departmentRepository.findById(departmentId)
+                .orElseThrow(() -> new RuntimeException("Department not found"));
+        Department target = departmentRepository.findById(targetDepartmentId)
+                .orElseThrow(() -> new RuntimeException("Target department not found"));
+        for (DepartmentRetirementJob active : jobs.values()) {
+            if (!active.isFinished() && (active.getDepartmentId().equals(departmentId)
+                    || active.getDepartmentId().equals(targetDepartmentId)
+                    || active.getTargetDepartmentId().equals(departmentId))) {
+                throw new RuntimeException("Department " + active.getDepartmentName() + " is already being retired");
+            }
+        }
+
+        DepartmentRetirementJob job = new DepartmentRetirementJob(department.getId(), department.getName(),
+                target.getId(), target.getName(), courseHandling);
+        jobs.put(job.getId(), job);
+        try {
+            jobExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new RuntimeException("Too many departments are being retired, try again later");
+        }
+        return job;
+    }
+
+    public Optional<DepartmentRetirementJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void run(DepartmentRetirementJob job) {
+        long started = System.nanoTime();
+        try {
+            retire(job);
+            log.info("Department {} retired into {}: {} students, {} teachers, {} courses in {} ms",
+                    job.getDepartmentName(), job.getTargetDepartmentName(), job.getMovedStudents(),
+                    job.getMovedTeachers(), job.getMovedCourses(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Retiring department {} failed", job.getDepartmentName(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    void retire(DepartmentRetirementJob job) {
+        Long id = job.getDepartmentId();
+        job.start(studentRepository.countByDepartmentId(id), teacherRepository.countByDepartmentId(id),
+                courseRepository.countByDepartmentId(id));
+        try {
+            // Members added to the department while it is being emptied are picked up by another pass
+            for (int pass = 1; remainingMembers(id) > 0; pass++) {
+                if (pass > MAX_PASSES) {
+                    throw new IllegalStateException("The department keeps gaining members, try again later");
+                }
+                moveStudents(job);
+                moveTeachers(job);
+                moveCourses(job);
+            }
+        } finally {
+            // Moved courses change the cached catalog even if a later chunk fails
+            evictReferenceData();
+        }
+        departmentService.deleteDepartment(id);
+        job.complete();
+    }
+
+    private void moveStudents(DepartmentRetirementJob job) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        inChunks(job::addStudents, () -> jdbcTemplate.update(
+                "update students set department_id = ?, updated_at = ? where department_id = ? "
+                        + "and id in (select id from students where department_id = ? limit ?)",
+                job.getTargetDepartmentId(), now, job.getDepartmentId(), job.getDepartmentId(), chunkSize));
+    }
+
+    private void moveTeachers(DepartmentRetirementJob job) {
+        inChunks(job::addTeachers, () -> jdbcTemplate.update(
+                "update teachers set department_id = ? where department_id = ? "
+                        + "and id in (select id from teachers where department_id = ? limit ?)",
+                job.getTargetDepartmentId(), job.getDepartmentId(), job.getDepartmentId(), chunkSize));
+    }
+
+    private void moveCourses(DepartmentRetirementJob job) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (job.getCourseHandling() == DepartmentRetirementJob.CourseHandling.ARCHIVE) {
+            inChunks(job::addCourses, () -> jdbcTemplate.update(
+                    "update courses set department_id = null, updated_at = ? where department_id = ? "
+                            + "and id in (select id from courses where department_id = ? limit ?)",
+                    now, job.getDepartmentId(), job.getDepartmentId(), chunkSize));
+            return;
+        }
+        inChunks(job::addCourses, () -> jdbcTemplate.update(
+                "update courses set department_id = ?, updated_at = ? where department_id = ? "
+                        + "and id in (select id from courses where department_id = ? limit ?)",
+                job.getTargetDepartmentId(), now, job.getDepartmentId(), job.getDepartmentId(), chunkSize));
+    }
+
+    /**
+     * Runs the chunk update, one transaction each, until a chunk comes back short.
+     * The outer department_id condition is re-checked on rows changed concurrently.
+     */
+    private void inChunks(IntConsumer progress, IntSupplier chunk) {
+        int updated;
+        do {
+            updated = transactionTemplate.execute(status -> chunk.getAsInt());
+            progress.accept(updated);
+            pause();
+        } while (updated == chunkSize);
+    }
+
+    private void pause() {
+        if (chunkPause.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(chunkPause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Retirement interrupted", e);
+        }
+    }
+
+    private long remainingMembers(Long id) {
+        return studentRepository.countByDepartmentId(id) + teacherRepository.countByDepartmentId(id)
+                + courseRepository.countByDepartmentId(id);
+    }
+
+    private void evictReferenceData() {
+        cacheManager.ifAvailable(manager -> {
+            for (String name : REFERENCE_DATA_CACHES) {
+                Cache cache = manager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        });
+    }
+
+    private void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+}
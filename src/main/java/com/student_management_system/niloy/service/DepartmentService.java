@@ -1,21 +1,36 @@
 package com.student_management_system.niloy.service;
 
 import com.student_management_system.niloy.model.Department;
+import com.student_management_system.niloy.model.DepartmentView;
+import com.student_management_system.niloy.model.ResourceVersion;
 import com.student_management_system.niloy.repository.DepartmentRepository;
+import com.student_management_system.niloy.config.CacheConfig;
+import com.student_management_system.niloy.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class DepartmentService {
 
     @Autowired
     private DepartmentRepository departmentRepository;
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DEPARTMENT_OPTIONS_HTML, allEntries = true)
+    })
     public Department createDepartment(Department department) {
         if (departmentRepository.existsByName(department.getName())) {
             throw new RuntimeException("Department name already exists");
@@ -23,19 +38,67 @@ public class DepartmentService {
         return departmentRepository.save(department);
     }
 
+    /**
+     * Saves the departments with one duplicate check and batched inserts.
+     */
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DEPARTMENT_OPTIONS_HTML, allEntries = true)
+    })
+    public List<Department> createDepartments(List<Department> departments) {
+        Set<String> names = new HashSet<>();
+        for (Department department : departments) {
+            if (!names.add(department.getName())) {
+                throw new RuntimeException("Department name already exists: " + department.getName());
+            }
+        }
+        Set<String> existing = departmentRepository.findExistingNames(names);
+        if (!existing.isEmpty()) {
+            throw new RuntimeException("Department name already exists: " + String.join(", ", existing));
+        }
+        return departmentRepository.saveAll(departments);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.DEPARTMENTS, key = "'all'")
+    @Transactional(readOnly = true)
     public List<Department> getAllDepartments() {
-        return departmentRepository.findAll();
+        return List.copyOf(departmentRepository.findAll());
+    }
+
+    /** Whether any department exists, without loading (or caching) the list. */
+    @Transactional(readOnly = true)
+    public boolean hasDepartments() {
+        return departmentRepository.existsBy();
+    }
+
+    @Transactional(readOnly = true)
+    public List<DepartmentView> getDepartmentViews() {
+        return departmentRepository.findAllViews();
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getDepartmentsVersion() {
+        return departmentRepository.findVersion();
     }
 
+    @Transactional(readOnly = true)
     public Optional<Department> getDepartmentById(Long id) {
         return departmentRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Department> getDepartmentByName(String name) {
         return departmentRepository.findByName(name);
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.COURSE_CATALOG, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DEPARTMENT_OPTIONS_HTML, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.COURSE_CATALOG_HTML, allEntries = true)
+    })
     public Department updateDepartment(Long id, Department departmentDetails) {
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Department not found"));
@@ -46,7 +109,17 @@ public class DepartmentService {
         return departmentRepository.save(department);
     }
 
+    /**
+     * Deletes a department that no longer has students, teachers or courses.
+     * Departments still in use are emptied first by {@link DepartmentRetirementService}.
+     */
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.COURSE_CATALOG, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DEPARTMENT_OPTIONS_HTML, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.COURSE_CATALOG_HTML, allEntries = true)
+    })
     public void deleteDepartment(Long id) {
         departmentRepository.deleteById(id);
     }
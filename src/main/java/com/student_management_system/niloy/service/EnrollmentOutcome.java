@@ -0,0 +1,7 @@
+package com.student_management_system.niloy.service;
+
+public enum EnrollmentOutcome {
+    ENROLLED,
+    ALREADY_ENROLLED,
+    NOT_FOUND
+}
@@ -0,0 +1,177 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.config.ReplicaRouting;
+import com.student_management_system.niloy.model.EnrollmentKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * In-process queue for enrollment requests during registration rush hours
+ * (app.enrollment.async.enabled=true).
+ *
+ * The request thread only enqueues a ticket and returns. A single worker drains the
+ * queue in batches of up to app.enrollment.batch-size, waiting at most
+ * app.enrollment.batch-linger for a batch to fill, and commits each batch through
+ * {@link StudentService#enrollAll} in one transaction. Tickets live in memory only,
+ * so requests still queued at shutdown are lost and have to be resubmitted.
+ *
+ * With a read replica, each committed enrollment pins its student's reads to the primary,
+ * as a synchronous enrollment would (see {@link ReplicaRouting#recordWrite}).
+ */
+@Service
+public class EnrollmentQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentQueue.class);
+
+    private static final Duration TICKET_RETENTION = Duration.ofMinutes(30);
+    private static final Duration EVICTION_INTERVAL = Duration.ofMinutes(1);
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private ReplicaRouting replicaRouting;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${app.enrollment.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.enrollment.queue-capacity:10000}")
+    private int capacity;
+
+    @Value("${app.enrollment.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.enrollment.batch-linger:20ms}")
+    private Duration batchLinger;
+
+    private final Map<String, EnrollmentTicket> tickets = new ConcurrentHashMap<>();
+
+    private BlockingQueue<EnrollmentTicket> queue;
+    private Thread worker;
+
+    @PostConstruct
+    void startWorker() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(capacity);
+        meterRegistry.ifAvailable(registry -> registry.gauge("enrollment.queue.size", queue, Queue::size));
+        worker = Thread.ofPlatform().name("enrollment-worker").daemon(true).start(this::drain);
+    }
+
+    @PreDestroy
+    void stopWorker() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues an enrollment for the student owned by the given user and returns its ticket
+     * right away. Throws if the queue is full, so the caller can ask the student to retry.
+     */
+    public EnrollmentTicket submit(Long userId, Long studentId, Long courseId) {
+        EnrollmentTicket ticket = new EnrollmentTicket(userId, studentId, courseId);
+        tickets.put(ticket.getId(), ticket);
+        if (!queue.offer(ticket)) {
+            tickets.remove(ticket.getId());
+            throw new RuntimeException("Registration is busy, please try again in a moment");
+        }
+        return ticket;
+    }
+
+    public Optional<EnrollmentTicket> getTicket(String id) {
+        return Optional.ofNullable(tickets.get(id));
+    }
+
+    private void drain() {
+        List<EnrollmentTicket> batch = new ArrayList<>(batchSize);
+        Instant nextEviction = Instant.now().plus(EVICTION_INTERVAL);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + batchLinger.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    EnrollmentTicket next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!batch.isEmpty()) {
+                process(batch);
+                batch.clear();
+            }
+            if (Instant.now().isAfter(nextEviction)) {
+                evictFinishedTickets();
+                nextEviction = Instant.now().plus(EVICTION_INTERVAL);
+            }
+        }
+    }
+
+    private void process(List<EnrollmentTicket> batch) {
+        List<EnrollmentKey> keys = new ArrayList<>(batch.size());
+        for (EnrollmentTicket ticket : batch) {
+            keys.add(ticket.getKey());
+        }
+        try {
+            Map<EnrollmentKey, EnrollmentOutcome> outcomes = studentService.enrollAll(keys);
+            for (EnrollmentTicket ticket : batch) {
+                EnrollmentOutcome outcome = outcomes.get(ticket.getKey());
+                if (outcome == EnrollmentOutcome.ENROLLED) {
+                    replicaRouting.recordWrite(ticket.getUserId());
+                }
+                ticket.complete(outcome);
+            }
+        } catch (RuntimeException e) {
+            // e.g. a concurrent synchronous enrollment won the race; settle the batch one by one
+            log.warn("Enrollment batch of {} failed, retrying individually", batch.size(), e);
+            for (EnrollmentTicket ticket : batch) {
+                processSingle(ticket);
+            }
+        }
+    }
+
+    private void processSingle(EnrollmentTicket ticket) {
+        try {
+            boolean enrolled = studentService.enrollInCourse(ticket.getStudentId(), ticket.getCourseId());
+            if (enrolled) {
+                replicaRouting.recordWrite(ticket.getUserId());
+            }
+            ticket.complete(enrolled ? EnrollmentOutcome.ENROLLED : EnrollmentOutcome.ALREADY_ENROLLED);
+        } catch (RuntimeException e) {
+            ticket.fail(e.getMessage());
+        }
+    }
+
+    private void evictFinishedTickets() {
+        Instant cutoff = Instant.now().minus(TICKET_RETENTION);
+        tickets.values().removeIf(ticket -> ticket.isFinished() && ticket.getFinishedAt().isBefore(cutoff));
+    }
+}
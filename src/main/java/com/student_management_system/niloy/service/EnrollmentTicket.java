@@ -0,0 +1,93 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.model.EnrollmentKey;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One queued enrollment request. Handed back to the student right away and
+ * polled until the queue worker has recorded an outcome.
+ */
+public class EnrollmentTicket {
+
+    public enum Status {
+        PENDING,
+        ENROLLED,
+        ALREADY_ENROLLED,
+        FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long userId;
+    private final EnrollmentKey key;
+    private final Instant submittedAt = Instant.now();
+    private volatile Status status = Status.PENDING;
+    private volatile String message;
+    private volatile Instant finishedAt;
+
+    public EnrollmentTicket(Long userId, Long studentId, Long courseId) {
+        this.userId = userId;
+        this.key = new EnrollmentKey(studentId, courseId);
+    }
+
+    void complete(EnrollmentOutcome outcome) {
+        switch (outcome) {
+            case ENROLLED -> finish(Status.ENROLLED, null);
+            case ALREADY_ENROLLED -> finish(Status.ALREADY_ENROLLED, null);
+            case NOT_FOUND -> finish(Status.FAILED, "Course not found");
+        }
+    }
+
+    void fail(String message) {
+        finish(Status.FAILED, message);
+    }
+
+    private void finish(Status status, String message) {
+        this.message = message;
+        this.finishedAt = Instant.now();
+        this.status = status;
+    }
+
+    EnrollmentKey getKey() {
+        return key;
+    }
+
+    /** The student's account, whose reads have to see the enrollment once it is committed. */
+    Long getUserId() {
+        return userId;
+    }
+
+    public boolean isFinished() {
+        return status != Status.PENDING;
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public Long getStudentId() {
+        return key.studentId();
+    }
+
+    public Long getCourseId() {
+        return key.courseId();
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,171 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.model.Course;
+import com.student_management_system.niloy.model.Department;
+import com.student_management_system.niloy.model.Student;
+import com.student_management_system.niloy.model.Teacher;
+import com.student_management_system.niloy.repository.CourseRepository;
+import com.student_management_system.niloy.repository.StudentRepository;
+import com.student_management_system.niloy.repository.TeacherRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * Streams full rosters as CSV or JSON with flat memory use.
+ *
+ * Rows come from a read-only JPA Stream backed by a JDBC cursor with a fixed fetch size,
+ * and each entity is detached once written, so the persistence context never holds more
+ * than the current row plus the shared departments/teachers. Runs in a read-only
+ * transaction because PostgreSQL only honours the fetch size with autocommit off.
+ */
+@Service
+public class ExportService {
+
+    private static final String[] STUDENT_COLUMNS = {"id", "studentId", "username", "email", "firstName", "lastName", "department", "phone", "address"};
+    private static final String[] TEACHER_COLUMNS = {"id", "employeeId", "username", "email", "firstName", "lastName", "department", "specialization", "phone", "address"};
+    private static final String[] COURSE_COLUMNS = {"id", "courseCode", "courseName", "credits", "department", "teacherEmployeeId", "teacherName", "description"};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportStudents(ExportFormat format, OutputStream out) throws IOException {
+        try (RowWriter writer = open(format, out, STUDENT_COLUMNS);
+             Stream<Student> students = studentRepository.streamAllForExport()) {
+            for (Student student : (Iterable<Student>) students::iterator) {
+                writer.row(student.getId(), student.getStudentId(), student.getUser().getUsername(),
+                        student.getUser().getEmail(), student.getFirstName(), student.getLastName(),
+                        name(student.getDepartment()), student.getPhone(), student.getAddress());
+                entityManager.detach(student.getUser());
+                entityManager.detach(student);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTeachers(ExportFormat format, OutputStream out) throws IOException {
+        try (RowWriter writer = open(format, out, TEACHER_COLUMNS);
+             Stream<Teacher> teachers = teacherRepository.streamAllForExport()) {
+            for (Teacher teacher : (Iterable<Teacher>) teachers::iterator) {
+                writer.row(teacher.getId(), teacher.getEmployeeId(), teacher.getUser().getUsername(),
+                        teacher.getUser().getEmail(), teacher.getFirstName(), teacher.getLastName(),
+                        name(teacher.getDepartment()), teacher.getSpecialization(), teacher.getPhone(), teacher.getAddress());
+                entityManager.detach(teacher.getUser());
+                entityManager.detach(teacher);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCourses(ExportFormat format, OutputStream out) throws IOException {
+        try (RowWriter writer = open(format, out, COURSE_COLUMNS);
+             Stream<Course> courses = courseRepository.streamAllForExport()) {
+            for (Course course : (Iterable<Course>) courses::iterator) {
+                Teacher teacher = course.getTeacher();
+                writer.row(course.getId(), course.getCourseCode(), course.getCourseName(), course.getCredits(),
+                        name(course.getDepartment()),
+                        teacher != null ? teacher.getEmployeeId() : null,
+                        teacher != null ? teacher.getFirstName() + " " + teacher.getLastName() : null,
+                        course.getDescription());
+                entityManager.detach(course);
+            }
+        }
+    }
+
+    private static String name(Department department) {
+        return department != null ? department.getName() : null;
+    }
+
+    private RowWriter open(ExportFormat format, OutputStream out, String[] columns) throws IOException {
+        return format == ExportFormat.JSON ? new JsonRowWriter(out, columns) : new CsvRowWriter(out, columns);
+    }
+
+    /** Writes one row at a time; closing finishes the document but leaves the response stream open. */
+    private interface RowWriter extends Closeable {
+        void row(Object... values) throws IOException;
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out, String[] columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            row((Object[]) columns);
+        }
+
+        @Override
+        public void row(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writer.write(escape(values[i].toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private class JsonRowWriter implements RowWriter {
+
+        private final String[] columns;
+        private final JsonGenerator generator;
+
+        JsonRowWriter(OutputStream out, String[] columns) {
+            this.columns = columns;
+            this.generator = objectMapper.writer().without(StreamWriteFeature.AUTO_CLOSE_TARGET).createGenerator(out);
+            generator.writeStartArray();
+        }
+
+        @Override
+        public void row(Object... values) {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writePOJOProperty(columns[i], values[i]);
+            }
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void close() {
+            generator.writeEndArray();
+            generator.close();
+        }
+    }
+}
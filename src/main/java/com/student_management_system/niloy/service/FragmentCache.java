@@ -0,0 +1,65 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.config.CacheConfig;
+import com.student_management_system.niloy.model.Course;
+import com.student_management_system.niloy.model.Department;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Renders blocks that look the same for every user (the course catalog rows, the
+ * department dropdown options) once and caches the HTML. The caches are evicted by
+ * CourseService and DepartmentService whenever the underlying data changes.
+ */
+@Service
+public class FragmentCache {
+
+    private static final String TEMPLATE = "fragments/shared";
+    private static final String ROW_SEPARATOR = Pattern.quote("<!--/row-->");
+    private static final List<Boolean> STATES = List.of(false, true);
+
+    @Autowired
+    private ITemplateEngine templateEngine;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Cacheable(cacheNames = CacheConfig.COURSE_CATALOG_HTML, key = "'all'")
+    public List<RenderedFragment> getCourseCatalogRows() {
+        List<Course> courses = courseService.getAllCourses();
+        return render("catalogRows", courses, courses.stream().map(Course::getId).toList());
+    }
+
+    @Cacheable(cacheNames = CacheConfig.DEPARTMENT_OPTIONS_HTML, key = "'all'")
+    public List<RenderedFragment> getDepartmentOptions() {
+        List<Department> departments = departmentService.getAllDepartments();
+        return render("departmentOptions", departments, departments.stream().map(Department::getId).toList());
+    }
+
+    /**
+     * Renders all items with one template call, which matters when the caches are off
+     * (app.cache.enabled=false): then every page view renders the list again.
+     */
+    private List<RenderedFragment> render(String fragment, List<?> items, List<Long> ids) {
+        Context context = new Context(Locale.ROOT, Map.of("items", items, "states", STATES));
+        String[] rows = templateEngine.process(TEMPLATE, Set.of(fragment), context).split(ROW_SEPARATOR);
+        List<RenderedFragment> fragments = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            fragments.add(new RenderedFragment(ids.get(i), rows[2 * i].strip(), rows[2 * i + 1].strip()));
+        }
+        return fragments;
+    }
+}
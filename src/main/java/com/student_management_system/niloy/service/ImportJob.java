@@ -0,0 +1,146 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.model.Role;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress and per-row errors of one CSV bulk import.
+ * Updated by the import worker and read by the status page while it runs.
+ */
+public class ImportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    /** Only the first errors are kept so a badly broken file cannot exhaust the heap. */
+    public static final int MAX_REPORTED_ERRORS = 500;
+
+    private final String id = UUID.randomUUID().toString();
+    private final Role kind;
+    private final String fileName;
+    private final Instant submittedAt = Instant.now();
+    private final AtomicInteger processedRows = new AtomicInteger();
+    private final AtomicInteger importedRows = new AtomicInteger();
+    private final AtomicInteger errorCount = new AtomicInteger();
+    private final List<RowError> errors = Collections.synchronizedList(new ArrayList<>());
+    private volatile Status status = Status.QUEUED;
+    private volatile String failureMessage;
+    private volatile Instant finishedAt;
+
+    public ImportJob(Role kind, String fileName) {
+        this.kind = kind;
+        this.fileName = fileName;
+    }
+
+    void start() {
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        status = Status.COMPLETED;
+        finishedAt = Instant.now();
+    }
+
+    void fail(String message) {
+        failureMessage = message;
+        status = Status.FAILED;
+        finishedAt = Instant.now();
+    }
+
+    void addProcessed(int rows) {
+        processedRows.addAndGet(rows);
+    }
+
+    void addImported(int rows) {
+        importedRows.addAndGet(rows);
+    }
+
+    void addError(int row, String message) {
+        if (errorCount.incrementAndGet() <= MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(row, message));
+        }
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public Role getKind() {
+        return kind;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+
+    public int getProcessedRows() {
+        return processedRows.get();
+    }
+
+    public int getImportedRows() {
+        return importedRows.get();
+    }
+
+    public int getErrorCount() {
+        return errorCount.get();
+    }
+
+    public List<RowError> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+
+    /**
+     * A rejected CSV row. Row numbers are 1-based and count the header line.
+     */
+    public static class RowError {
+
+        private final int row;
+        private final String message;
+
+        public RowError(int row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
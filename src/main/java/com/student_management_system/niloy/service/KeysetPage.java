@@ -0,0 +1,108 @@
+package com.student_management_system.niloy.service;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a keyset (cursor) paginated listing.
+ * The next cursor is an opaque token holding the sort key values of the last row,
+ * so fetching a deep page costs the same as fetching the first one.
+ * Each key is stored as name, type and URL-encoded value, one per line, so names and
+ * e-mail addresses containing tabs or newlines survive the round trip.
+ */
+public class KeysetPage<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public static <T> KeysetPage<T> of(Window<T> window) {
+        String next = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            next = encode((KeysetScrollPosition) window.positionAt(window.size() - 1));
+        }
+        return new KeysetPage<>(window.getContent(), next);
+    }
+
+    /**
+     * Decodes a cursor produced by this class. A missing, malformed or stale cursor
+     * (one that does not match the current sort) falls back to the first page.
+     * So does one with a null key, which a keyset cannot seek past; the listings only
+     * sort on NOT NULL columns (see {@link ListingCriteria#resolveSort}).
+     */
+    public static KeysetScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (String entry : raw.split("\n")) {
+                String[] parts = entry.split("\t", 3);
+                keys.put(parts[0], parseValue(parts[1], URLDecoder.decode(parts[2], StandardCharsets.UTF_8)));
+            }
+            for (Sort.Order order : sort) {
+                if (keys.get(order.getProperty()) == null) {
+                    return ScrollPosition.keyset();
+                }
+            }
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            return ScrollPosition.keyset();
+        }
+    }
+
+    private static String encode(KeysetScrollPosition position) {
+        StringBuilder raw = new StringBuilder();
+        for (Map.Entry<String, Object> entry : position.getKeys().entrySet()) {
+            if (raw.length() > 0) {
+                raw.append('\n');
+            }
+            Object value = entry.getValue();
+            String type = value == null ? "N" : value instanceof Long ? "L" : value instanceof Integer ? "I" : "S";
+            raw.append(entry.getKey()).append('\t').append(type).append('\t')
+                    .append(value == null ? "" : URLEncoder.encode(value.toString(), StandardCharsets.UTF_8));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object parseValue(String type, String value) {
+        switch (type) {
+            case "N":
+                return null;
+            case "L":
+                return Long.valueOf(value);
+            case "I":
+                return Integer.valueOf(value);
+            default:
+                return value;
+        }
+    }
+
+    // Getters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
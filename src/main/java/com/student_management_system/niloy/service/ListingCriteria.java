@@ -0,0 +1,89 @@
+package com.student_management_system.niloy.service;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * Cursor, sort and filter parameters for the paginated management listings.
+ * Bound straight from the query string of the manage pages.
+ */
+public class ListingCriteria {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private String cursor;
+    private Integer size;
+    private String sort;
+    private String dir;
+    private Long departmentId;
+    private String q;
+
+    // Getters and Setters
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public String getDir() {
+        return dir;
+    }
+
+    public void setDir(String dir) {
+        this.dir = dir;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public String getQ() {
+        return q;
+    }
+
+    public void setQ(String q) {
+        this.q = q;
+    }
+
+    public int getPageSize() {
+        if (size == null || size < 1) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * Resolves the requested sort against a whitelist of sortable properties.
+     * The id is always appended so that the keyset is unique. Whitelisted properties
+     * must be NOT NULL columns, since a keyset cannot seek past a null value.
+     */
+    public Sort resolveSort(Set<String> sortable, String defaultSort) {
+        String property = sort != null && sortable.contains(sort) ? sort : defaultSort;
+        Sort.Direction direction = "desc".equalsIgnoreCase(dir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, property).and(Sort.by(direction, "id"));
+    }
+}
@@ -0,0 +1,16 @@
+package com.student_management_system.niloy.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The signed-in account has no Student/Teacher profile (yet, or any more).
+ * Answered with 404 rather than a server error.
+ */
+@ResponseStatus(value = HttpStatus.NOT_FOUND, reason = "No profile for this account")
+public class ProfileNotFoundException extends RuntimeException {
+
+    public ProfileNotFoundException() {
+        super("No profile for this account");
+    }
+}
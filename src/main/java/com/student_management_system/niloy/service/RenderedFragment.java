@@ -0,0 +1,17 @@
+package com.student_management_system.niloy.service;
+
+/**
+ * Pre-rendered HTML for one row of a shared block, in its normal and active state
+ * (an enrolled course, a selected department), so a page can pick the right variant
+ * per user without rendering the row again.
+ */
+public record RenderedFragment(Long id, String html, String activeHtml) {
+
+    public String render(boolean active) {
+        return active ? activeHtml : html;
+    }
+
+    public String renderFor(Long activeId) {
+        return render(id.equals(activeId));
+    }
+}
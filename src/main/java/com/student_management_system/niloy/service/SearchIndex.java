@@ -0,0 +1,144 @@
+package com.student_management_system.niloy.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * An in-memory inverted index with prefix matching, used for type-ahead search.
+ *
+ * Every document is split into lower-case word tokens kept in a sorted map, so a prefix
+ * lookup is a range scan over that map. A query matches documents that contain a token
+ * starting with each of the query's words. Writes are serialized; reads never lock.
+ */
+final class SearchIndex<T> {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Function<T, Long> idOf;
+    private final Function<T, List<String>> textOf;
+    private final Comparator<T> order;
+
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, T> documents = new ConcurrentHashMap<>();
+
+    SearchIndex(Function<T, Long> idOf, Function<T, List<String>> textOf, Comparator<T> order) {
+        this.idOf = idOf;
+        this.textOf = textOf;
+        this.order = order;
+    }
+
+    synchronized void put(T document) {
+        Long id = idOf.apply(document);
+        Set<String> tokens = tokensOf(document);
+        T previous = documents.put(id, document);
+        if (previous != null) {
+            for (String token : tokensOf(previous)) {
+                if (!tokens.contains(token)) {
+                    unlink(token, id);
+                }
+            }
+        }
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    synchronized void remove(Long id) {
+        T previous = documents.remove(id);
+        if (previous != null) {
+            for (String token : tokensOf(previous)) {
+                unlink(token, id);
+            }
+        }
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    /**
+     * Returns one page of the documents matching every word of the query, in index order.
+     * Only the top offset + size hits are kept while scanning, so broad one-letter
+     * queries do not sort the whole result set.
+     */
+    Page<T> search(String query, Pageable pageable) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        Set<Long> matches = null;
+        for (String term : terms) {
+            Set<Long> termMatches = new HashSet<>();
+            for (Set<Long> ids : postings.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                for (Long id : ids) {
+                    if (matches == null || matches.contains(id)) {
+                        termMatches.add(id);
+                    }
+                }
+            }
+            matches = termMatches;
+            if (matches.isEmpty()) {
+                return Page.empty(pageable);
+            }
+        }
+
+        int limit = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+        PriorityQueue<T> top = new PriorityQueue<>(order.reversed());
+        int total = 0;
+        for (Long id : matches) {
+            T document = documents.get(id);
+            if (document == null) {
+                continue;
+            }
+            total++;
+            top.add(document);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<T> hits = new ArrayList<>(top);
+        hits.sort(order);
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        return new PageImpl<>(hits.subList(from, hits.size()), pageable, total);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private Set<String> tokensOf(T document) {
+        Set<String> tokens = new HashSet<>();
+        for (String text : textOf.apply(document)) {
+            tokens.addAll(tokenize(text));
+        }
+        return tokens;
+    }
+
+    private void unlink(String token, Long id) {
+        Set<Long> ids = postings.get(token);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+}
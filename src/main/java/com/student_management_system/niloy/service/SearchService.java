@@ -0,0 +1,198 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.model.CourseSearchResult;
+import com.student_management_system.niloy.model.StudentSearchResult;
+import com.student_management_system.niloy.repository.CourseRepository;
+import com.student_management_system.niloy.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Type-ahead search over students and courses.
+ *
+ * Both indexes are loaded once after startup and then kept in sync by the services that
+ * write students and courses. Changes are read back as projections inside the writing
+ * transaction and applied to the index only after it commits, so a rolled back write
+ * never shows up in search results.
+ *
+ * The load runs on a background thread, so a large roster does not hold up the first
+ * request. Until it has finished, {@link #isWarm()} is false and the search endpoints
+ * answer 503. Writes committed meanwhile are applied straight away and remembered, and
+ * the load skips those rows, because they may have been read before the write.
+ */
+@Service
+public class SearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SearchIndex<StudentSearchResult> students = new SearchIndex<>(
+            StudentSearchResult::id,
+            s -> Arrays.asList(s.studentId(), s.firstName(), s.lastName(), s.email()),
+            Comparator.comparing(StudentSearchResult::lastName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparing(StudentSearchResult::firstName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparing(StudentSearchResult::id));
+
+    private final SearchIndex<CourseSearchResult> courses = new SearchIndex<>(
+            CourseSearchResult::id,
+            c -> Arrays.asList(c.courseCode(), c.courseName(), c.description()),
+            Comparator.comparing(CourseSearchResult::courseCode, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparing(CourseSearchResult::id));
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    // Ids written since the load started; the load must not overwrite them with older rows
+    private final Set<Long> studentsWrittenWhileWarming = ConcurrentHashMap.newKeySet();
+    private final Set<Long> coursesWrittenWhileWarming = ConcurrentHashMap.newKeySet();
+
+    private final CountDownLatch warmedUp = new CountDownLatch(1);
+
+    /**
+     * Starts loading both indexes after startup (and after the seed data has been written).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Thread.ofPlatform().name("search-warm-up").daemon(true).start(() -> {
+            while (!isWarm()) {
+                try {
+                    load();
+                } catch (RuntimeException e) {
+                    log.error("Loading the search index failed, retrying in {} s", RETRY_DELAY.toSeconds(), e);
+                    try {
+                        Thread.sleep(RETRY_DELAY);
+                    } catch (InterruptedException interrupted) {
+                        return;
+                    }
+                }
+            }
+        });
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            try (Stream<StudentSearchResult> rows = studentRepository.streamSearchResults()) {
+                rows.forEach(row -> putUnlessWritten(students, studentsWrittenWhileWarming, row, row.id()));
+            }
+            try (Stream<CourseSearchResult> rows = courseRepository.streamSearchResults()) {
+                rows.forEach(row -> putUnlessWritten(courses, coursesWrittenWhileWarming, row, row.id()));
+            }
+        });
+        synchronized (this) {
+            warmedUp.countDown();
+            studentsWrittenWhileWarming.clear();
+            coursesWrittenWhileWarming.clear();
+        }
+        log.info("Search index loaded with {} students and {} courses in {} ms",
+                students.size(), courses.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** False until the startup load has finished; searches before then miss rows. */
+    public boolean isWarm() {
+        return warmedUp.getCount() == 0;
+    }
+
+    public boolean awaitWarm(Duration timeout) throws InterruptedException {
+        return warmedUp.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public Page<StudentSearchResult> searchStudents(String query, Pageable pageable) {
+        return students.search(query, pageable);
+    }
+
+    public Page<CourseSearchResult> searchCourses(String query, Pageable pageable) {
+        return courses.search(query, pageable);
+    }
+
+    public void studentChanged(Long id) {
+        studentsChanged(List.of(id));
+    }
+
+    public void studentsChanged(Collection<Long> ids) {
+        List<StudentSearchResult> rows = studentRepository.findSearchResults(ids);
+        afterCommit(() -> rows.forEach(row -> write(studentsWrittenWhileWarming, row.id(), () -> students.put(row))));
+    }
+
+    /**
+     * Indexes students written outside JPA, such as the batched CSV import.
+     */
+    public void studentsImported(Collection<String> studentIds) {
+        List<StudentSearchResult> rows = studentRepository.findSearchResultsByStudentIds(studentIds);
+        afterCommit(() -> rows.forEach(row -> write(studentsWrittenWhileWarming, row.id(), () -> students.put(row))));
+    }
+
+    public void studentRemoved(Long id) {
+        afterCommit(() -> write(studentsWrittenWhileWarming, id, () -> students.remove(id)));
+    }
+
+    public void courseChanged(Long id) {
+        coursesChanged(List.of(id));
+    }
+
+    public void coursesChanged(Collection<Long> ids) {
+        List<CourseSearchResult> rows = courseRepository.findSearchResults(ids);
+        afterCommit(() -> rows.forEach(row -> write(coursesWrittenWhileWarming, row.id(), () -> courses.put(row))));
+    }
+
+    public void courseRemoved(Long id) {
+        afterCommit(() -> write(coursesWrittenWhileWarming, id, () -> courses.remove(id)));
+    }
+
+    // Both run under the service lock, so a loaded row cannot land between a write and its record
+    private synchronized void write(Set<Long> writtenWhileWarming, Long id, Runnable write) {
+        if (!isWarm()) {
+            writtenWhileWarming.add(id);
+        }
+        write.run();
+    }
+
+    private synchronized <T> void putUnlessWritten(SearchIndex<T> index, Set<Long> writtenWhileWarming, T row, Long id) {
+        if (!writtenWhileWarming.contains(id)) {
+            index.put(row);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
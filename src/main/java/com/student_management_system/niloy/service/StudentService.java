@@ -1,49 +1,166 @@
 package com.student_management_system.niloy.service;
 
 import com.student_management_system.niloy.model.Student;
-import com.student_management_system.niloy.model.Course;
+import com.student_management_system.niloy.model.Enrollment;
+import com.student_management_system.niloy.model.EnrollmentKey;
+import com.student_management_system.niloy.model.EnrollmentView;
+import com.student_management_system.niloy.model.ResourceVersion;
+import com.student_management_system.niloy.model.StudentView;
 import com.student_management_system.niloy.repository.StudentRepository;
 import com.student_management_system.niloy.repository.CourseRepository;
+import com.student_management_system.niloy.repository.EnrollmentRepository;
+import com.student_management_system.niloy.repository.ListingSpecifications;
+import com.student_management_system.niloy.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class StudentService {
 
+    private static final Set<String> SORTABLE = Set.of("studentId", "firstName", "lastName");
+
     @Autowired
     private StudentRepository studentRepository;
 
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate enrollTransaction;
+
+    @PostConstruct
+    void createEnrollTransaction() {
+        enrollTransaction = new TransactionTemplate(transactionManager);
+        enrollTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
     @Transactional
     public Student createStudent(Student student) {
         if (student.getStudentId() != null && studentRepository.existsByStudentId(student.getStudentId())) {
             throw new RuntimeException("Student ID already exists");
         }
-        return studentRepository.save(student);
+        Student saved = studentRepository.save(student);
+        searchService.studentChanged(saved.getId());
+        return saved;
     }
 
+    /**
+     * Saves the students with one duplicate check and batched inserts.
+     * Their users must already be saved.
+     */
+    @Transactional
+    public List<Student> createStudents(List<Student> students) {
+        Set<String> studentIds = new HashSet<>();
+        for (Student student : students) {
+            if (student.getStudentId() != null && !studentIds.add(student.getStudentId())) {
+                throw new RuntimeException("Student ID already exists: " + student.getStudentId());
+            }
+        }
+        if (!studentIds.isEmpty()) {
+            Set<String> existing = studentRepository.findExistingStudentIds(studentIds);
+            if (!existing.isEmpty()) {
+                throw new RuntimeException("Student ID already exists: " + String.join(", ", existing));
+            }
+        }
+        List<Student> saved = studentRepository.saveAll(students);
+        searchService.studentsChanged(saved.stream().map(Student::getId).toList());
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
     public List<Student> getAllStudents() {
         return studentRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public KeysetPage<Student> getStudentPage(ListingCriteria criteria) {
+        Sort sort = criteria.resolveSort(SORTABLE, "studentId");
+        Specification<Student> spec = ListingSpecifications.<Student>fetching("user", "department")
+                .and(ListingSpecifications.inDepartment(criteria.getDepartmentId()))
+                .and(ListingSpecifications.matches(criteria.getQ(), "firstName", "lastName", "studentId"));
+
+        return KeysetPage.of(studentRepository.findBy(spec, query -> query
+                .sortBy(sort)
+                .limit(criteria.getPageSize())
+                .scroll(KeysetPage.decode(criteria.getCursor(), sort))));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<StudentView> getStudentViews(Pageable pageable) {
+        return studentRepository.findViews(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<StudentView> getStudentView(Long id) {
+        return studentRepository.findViewById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getRosterVersion() {
+        return studentRepository.findVersion();
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getStudentVersion(Long id) {
+        return studentRepository.findVersionById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EnrollmentView> getEnrollmentViews(Long studentId) {
+        return enrollmentRepository.findViewsByStudentId(studentId);
+    }
+
+    /**
+     * Changes with any enrollment of the student, and with edits to the courses they are enrolled in.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getEnrollmentVersion(Long studentId) {
+        return enrollmentRepository.findVersionByStudentId(studentId);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Student> getStudentById(Long id) {
         return studentRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Student> getStudentProfile(Long id) {
+        return studentRepository.findWithProfileById(id);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Student> getStudentByUserId(Long userId) {
         return studentRepository.findByUserId(userId);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Student> getStudentByStudentId(String studentId) {
         return studentRepository.findByStudentId(studentId);
     }
 
+    @Transactional(readOnly = true)
     public List<Student> getStudentsByDepartmentId(Long departmentId) {
         return studentRepository.findByDepartmentId(departmentId);
     }
@@ -59,37 +176,85 @@ public class StudentService {
         student.setAddress(studentDetails.getAddress());
         student.setDepartment(studentDetails.getDepartment());
 
-        return studentRepository.save(student);
+        Student saved = studentRepository.save(student);
+        searchService.studentChanged(saved.getId());
+        return saved;
     }
 
-    @Transactional
-    public Student enrollInCourse(Long studentId, Long courseId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
+    /**
+     * Enrolls a student with a single INSERT, without loading existing enrollments.
+     * Not @Transactional: the existence check and the insert share one transaction of their
+     * own, so an enrollment holds a single pooled connection at a time. A duplicate that slips
+     * past the check is rejected by the unique (student_id, course_id) constraint and only
+     * rolls that transaction back, never a transaction this is called from.
+     * Returns false if the student was already enrolled.
+     */
+    public boolean enrollInCourse(Long studentId, Long courseId) {
+        try {
+            return enrollTransaction.execute(status -> {
+                if (enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
+                    return false;
+                }
+                enrollmentRepository.saveAndFlush(new Enrollment(
+                        studentRepository.getReferenceById(studentId),
+                        courseRepository.getReferenceById(courseId)));
+                return true;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Checked on the primary, which the failed insert went to
+            if (enrollTransaction.execute(status -> enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId))) {
+                return false;
+            }
+            throw new RuntimeException("Student or course not found");
+        }
+    }
 
-        if (!student.getCourses().contains(course)) {
-            student.getCourses().add(course);
-            studentRepository.save(student);
+    /**
+     * Enrolls a batch of students in one transaction, as used by the enrollment queue.
+     * Missing students/courses and existing enrollments are found with three IN queries
+     * up front, so a duplicate never aborts the batch; the remaining rows are inserted together.
+     */
+    @Transactional
+    public Map<EnrollmentKey, EnrollmentOutcome> enrollAll(Collection<EnrollmentKey> keys) {
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        for (EnrollmentKey key : keys) {
+            studentIds.add(key.studentId());
+            courseIds.add(key.courseId());
         }
+        Set<Long> students = studentRepository.findExistingIds(studentIds);
+        Set<Long> courses = courseRepository.findExistingIds(courseIds);
+        Set<EnrollmentKey> enrolled = new HashSet<>(enrollmentRepository.findKeys(studentIds, courseIds));
 
-        return student;
+        Map<EnrollmentKey, EnrollmentOutcome> outcomes = new HashMap<>();
+        List<Enrollment> enrollments = new ArrayList<>();
+        for (EnrollmentKey key : keys) {
+            if (outcomes.containsKey(key)) {
+                continue;
+            }
+            if (!students.contains(key.studentId()) || !courses.contains(key.courseId())) {
+                outcomes.put(key, EnrollmentOutcome.NOT_FOUND);
+            } else if (enrolled.contains(key)) {
+                outcomes.put(key, EnrollmentOutcome.ALREADY_ENROLLED);
+            } else {
+                enrollments.add(new Enrollment(
+                        studentRepository.getReferenceById(key.studentId()),
+                        courseRepository.getReferenceById(key.courseId())));
+                outcomes.put(key, EnrollmentOutcome.ENROLLED);
+            }
+        }
+        enrollmentRepository.saveAll(enrollments);
+        return outcomes;
     }
 
     @Transactional
-    public Student unenrollFromCourse(Long studentId, Long courseId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-
-        student.getCourses().remove(course);
-        return studentRepository.save(student);
+    public boolean unenrollFromCourse(Long studentId, Long courseId) {
+        return enrollmentRepository.deleteByStudentIdAndCourseId(studentId, courseId) > 0;
     }
 
     @Transactional
     public void deleteStudent(Long id) {
         studentRepository.deleteById(id);
+        searchService.studentRemoved(id);
     }
 }
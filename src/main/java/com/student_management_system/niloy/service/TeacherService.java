@@ -2,16 +2,28 @@ package com.student_management_system.niloy.service;
 
 import com.student_management_system.niloy.model.Teacher;
 import com.student_management_system.niloy.repository.TeacherRepository;
+import com.student_management_system.niloy.repository.ListingSpecifications;
+import com.student_management_system.niloy.config.CacheConfig;
+import com.student_management_system.niloy.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class TeacherService {
 
+    private static final Set<String> SORTABLE = Set.of("employeeId", "firstName", "lastName");
+
     @Autowired
     private TeacherRepository teacherRepository;
 
@@ -23,27 +35,72 @@ public class TeacherService {
         return teacherRepository.save(teacher);
     }
 
+    /**
+     * Saves the teachers with one duplicate check and batched inserts.
+     * Their users must already be saved.
+     */
+    @Transactional
+    public List<Teacher> createTeachers(List<Teacher> teachers) {
+        Set<String> employeeIds = new HashSet<>();
+        for (Teacher teacher : teachers) {
+            if (teacher.getEmployeeId() != null && !employeeIds.add(teacher.getEmployeeId())) {
+                throw new RuntimeException("Employee ID already exists: " + teacher.getEmployeeId());
+            }
+        }
+        if (!employeeIds.isEmpty()) {
+            Set<String> existing = teacherRepository.findExistingEmployeeIds(employeeIds);
+            if (!existing.isEmpty()) {
+                throw new RuntimeException("Employee ID already exists: " + String.join(", ", existing));
+            }
+        }
+        return teacherRepository.saveAll(teachers);
+    }
+
+    @Transactional(readOnly = true)
     public List<Teacher> getAllTeachers() {
         return teacherRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public KeysetPage<Teacher> getTeacherPage(ListingCriteria criteria) {
+        Sort sort = criteria.resolveSort(SORTABLE, "employeeId");
+        Specification<Teacher> spec = ListingSpecifications.<Teacher>fetching("user", "department")
+                .and(ListingSpecifications.inDepartment(criteria.getDepartmentId()))
+                .and(ListingSpecifications.matches(criteria.getQ(), "firstName", "lastName", "employeeId"));
+
+        return KeysetPage.of(teacherRepository.findBy(spec, query -> query
+                .sortBy(sort)
+                .limit(criteria.getPageSize())
+                .scroll(KeysetPage.decode(criteria.getCursor(), sort))));
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Teacher> getTeacherById(Long id) {
         return teacherRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Teacher> getTeacherProfile(Long id) {
+        return teacherRepository.findWithProfileById(id);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Teacher> getTeacherByUserId(Long userId) {
         return teacherRepository.findByUserId(userId);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Teacher> getTeacherByEmployeeId(String employeeId) {
         return teacherRepository.findByEmployeeId(employeeId);
     }
 
+    @Transactional(readOnly = true)
     public List<Teacher> getTeachersByDepartmentId(Long departmentId) {
         return teacherRepository.findByDepartmentId(departmentId);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.COURSE_CATALOG, allEntries = true)
     public Teacher updateTeacher(Long id, Teacher teacherDetails) {
         Teacher teacher = teacherRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Teacher not found"));
@@ -59,6 +116,7 @@ public class TeacherService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.COURSE_CATALOG, allEntries = true)
     public void deleteTeacher(Long id) {
         teacherRepository.deleteById(id);
     }
@@ -2,41 +2,79 @@ package com.student_management_system.niloy.service;
 
 import com.student_management_system.niloy.model.User;
 import com.student_management_system.niloy.model.Role;
+import com.student_management_system.niloy.repository.StudentRepository;
+import com.student_management_system.niloy.repository.TeacherRepository;
 import com.student_management_system.niloy.repository.UserRepository;
+import com.student_management_system.niloy.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
-public class UserService implements UserDetailsService {
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private SearchService searchService;
+
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                user.isEnabled(),
-                true, true, true,
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-        );
+        // Resolve the profile id once here so controllers can skip the per-request lookups
+        return new AccountPrincipal(user, findProfileId(user.getId(), user.getRole()).orElse(null));
+    }
+
+    /**
+     * Id of the Student or Teacher row owned by the user, if it exists.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findProfileId(Long userId, Role role) {
+        return role == Role.STUDENT
+                ? studentRepository.findIdByUserId(userId)
+                : teacherRepository.findIdByUserId(userId);
+    }
+
+    /**
+     * Called by Spring Security after a successful login when the stored hash uses an
+     * outdated algorithm or cost. The new hash has already been computed from the password
+     * the user just typed, so upgrading costs one UPDATE.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+
+        Long profileId = userDetails instanceof AccountPrincipal principal ? principal.getProfileId() : null;
+        return new AccountPrincipal(user, profileId);
     }
 
     @Transactional
@@ -58,18 +96,53 @@ public class UserService implements UserDetailsService {
         return userRepository.save(user);
     }
 
+    /**
+     * Saves the users with one duplicate check per column and batched inserts.
+     * Passwords are given in plain text and hashed here, as in {@link #createUser}.
+     */
+    @Transactional
+    public List<User> createUsers(List<User> users) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (User user : users) {
+            if (!usernames.add(user.getUsername())) {
+                throw new RuntimeException("Username already exists: " + user.getUsername());
+            }
+            if (!emails.add(user.getEmail())) {
+                throw new RuntimeException("Email already exists: " + user.getEmail());
+            }
+        }
+        Set<String> existingUsernames = userRepository.findExistingUsernames(usernames);
+        if (!existingUsernames.isEmpty()) {
+            throw new RuntimeException("Username already exists: " + String.join(", ", existingUsernames));
+        }
+        Set<String> existingEmails = userRepository.findExistingEmails(emails);
+        if (!existingEmails.isEmpty()) {
+            throw new RuntimeException("Email already exists: " + String.join(", ", existingEmails));
+        }
+
+        for (User user : users) {
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
+        }
+        return userRepository.saveAll(users);
+    }
+
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> getUserByUsername(String username) {
         return userRepository.findByUsername(username);
     }
 
+    @Transactional(readOnly = true)
     public List<User> getUsersByRole(Role role) {
         return userRepository.findByRole(role);
     }
@@ -82,11 +155,14 @@ public class UserService implements UserDetailsService {
         user.setEmail(userDetails.getEmail());
         user.setEnabled(userDetails.isEnabled());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        studentRepository.findIdByUserId(id).ifPresent(searchService::studentChanged);
+        return saved;
     }
 
     @Transactional
     public void deleteUser(Long id) {
+        studentRepository.findIdByUserId(id).ifPresent(searchService::studentRemoved);
         userRepository.deleteById(id);
     }
 }
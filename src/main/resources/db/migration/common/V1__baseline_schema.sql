@@ -0,0 +1,94 @@
+-- Schema as Hibernate's ddl-auto=update left it. Databases that were created that way
+-- are baselined at this version (spring.flyway.baseline-on-migrate) and skip this script.
+
+create sequence departments_seq start with 1 increment by 50;
+create sequence users_seq start with 1 increment by 50;
+create sequence students_seq start with 1 increment by 50;
+create sequence teachers_seq start with 1 increment by 50;
+create sequence courses_seq start with 1 increment by 50;
+create sequence enrollments_seq start with 1 increment by 50;
+
+create table departments (
+    id bigint not null,
+    name varchar(255) not null,
+    description varchar(500),
+    updated_at timestamp(6),
+    constraint pk_departments primary key (id),
+    constraint uk_departments_name unique (name)
+);
+
+create table users (
+    id bigint not null,
+    username varchar(50) not null,
+    password varchar(255) not null,
+    email varchar(255) not null,
+    role varchar(255) not null,
+    enabled boolean not null,
+    constraint pk_users primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email),
+    constraint ck_users_role check (role in ('STUDENT', 'TEACHER'))
+);
+
+create table students (
+    id bigint not null,
+    user_id bigint not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    student_id varchar(255),
+    department_id bigint not null,
+    phone varchar(255),
+    address varchar(255),
+    updated_at timestamp(6),
+    constraint pk_students primary key (id),
+    constraint uk_students_user_id unique (user_id),
+    constraint uk_students_student_id unique (student_id),
+    constraint fk_students_user foreign key (user_id) references users (id),
+    constraint fk_students_department foreign key (department_id) references departments (id)
+);
+
+create table teachers (
+    id bigint not null,
+    user_id bigint not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    employee_id varchar(255),
+    department_id bigint not null,
+    phone varchar(255),
+    address varchar(255),
+    specialization varchar(255),
+    constraint pk_teachers primary key (id),
+    constraint uk_teachers_user_id unique (user_id),
+    constraint uk_teachers_employee_id unique (employee_id),
+    constraint fk_teachers_user foreign key (user_id) references users (id),
+    constraint fk_teachers_department foreign key (department_id) references departments (id)
+);
+
+create table courses (
+    id bigint not null,
+    course_code varchar(255) not null,
+    course_name varchar(255) not null,
+    description varchar(1000),
+    credits integer,
+    department_id bigint,
+    teacher_id bigint,
+    updated_at timestamp(6),
+    constraint pk_courses primary key (id),
+    constraint uk_courses_course_code unique (course_code),
+    constraint fk_courses_department foreign key (department_id) references departments (id),
+    constraint fk_courses_teacher foreign key (teacher_id) references teachers (id)
+);
+
+create table enrollments (
+    id bigint not null,
+    student_id bigint not null,
+    course_id bigint not null,
+    status varchar(255) not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    constraint pk_enrollments primary key (id),
+    constraint uk_enrollment_student_course unique (student_id, course_id),
+    constraint ck_enrollments_status check (status in ('ENROLLED', 'COMPLETED')),
+    constraint fk_enrollments_student foreign key (student_id) references students (id) on delete cascade,
+    constraint fk_enrollments_course foreign key (course_id) references courses (id) on delete cascade
+);
@@ -0,0 +1,9 @@
+-- The student and employee ids are the default sort keys of the keyset-paginated manage
+-- listings, which cannot seek past a null key. Every form and import requires them already;
+-- a row left without one by an older release gets a placeholder derived from its id.
+
+update students set student_id = 'UNASSIGNED-' || id where student_id is null;
+alter table students alter column student_id set not null;
+
+update teachers set employee_id = 'UNASSIGNED-' || id where employee_id is null;
+alter table teachers alter column employee_id set not null;
@@ -0,0 +1,7 @@
+-- Same indexes as postgresql/V3__lookup_indexes.sql, without the concurrent build
+create index if not exists idx_students_department_id on students (department_id);
+create index if not exists idx_teachers_department_id on teachers (department_id);
+create index if not exists idx_courses_department_id on courses (department_id);
+create index if not exists idx_courses_teacher_id on courses (teacher_id);
+create index if not exists idx_users_role on users (role);
+create index if not exists idx_enrollments_course_id on enrollments (course_id);
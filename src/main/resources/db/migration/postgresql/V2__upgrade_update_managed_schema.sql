@@ -0,0 +1,67 @@
+-- Brings a database that was managed by ddl-auto=update up to the V1 schema. Such a
+-- database is baselined at V1 (spring.flyway.baseline-on-migrate), so V1 never ran on it:
+-- depending on the release that last updated it, it has identity ids instead of sequences,
+-- no enrollments table (enrollments are still in the student_courses join table) and no
+-- updated_at columns. Every statement is a no-op on a database created by V1.
+
+create sequence if not exists departments_seq start with 1 increment by 50;
+create sequence if not exists users_seq start with 1 increment by 50;
+create sequence if not exists students_seq start with 1 increment by 50;
+create sequence if not exists teachers_seq start with 1 increment by 50;
+create sequence if not exists courses_seq start with 1 increment by 50;
+create sequence if not exists enrollments_seq start with 1 increment by 50;
+
+-- Hibernate now assigns every id from the sequences above
+alter table departments alter column id drop identity if exists;
+alter table users alter column id drop identity if exists;
+alter table students alter column id drop identity if exists;
+alter table teachers alter column id drop identity if exists;
+alter table courses alter column id drop identity if exists;
+
+alter table departments add column if not exists updated_at timestamp(6);
+alter table students add column if not exists updated_at timestamp(6);
+alter table courses add column if not exists updated_at timestamp(6);
+
+create table if not exists enrollments (
+    id bigint not null,
+    student_id bigint not null,
+    course_id bigint not null,
+    status varchar(255) not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    constraint pk_enrollments primary key (id),
+    constraint uk_enrollment_student_course unique (student_id, course_id),
+    constraint ck_enrollments_status check (status in ('ENROLLED', 'COMPLETED')),
+    constraint fk_enrollments_student foreign key (student_id) references students (id) on delete cascade,
+    constraint fk_enrollments_course foreign key (course_id) references courses (id) on delete cascade
+);
+-- An enrollments table that ddl-auto=update created has identity ids as well
+alter table enrollments alter column id drop identity if exists;
+
+-- Move each pooled sequence (allocation size 50) past the existing rows, so Hibernate
+-- never hands out an id that is taken
+select setval('departments_seq', (select max(id) from departments) + 50)
+where (select max(id) from departments) >= (select last_value from departments_seq);
+select setval('users_seq', (select max(id) from users) + 50)
+where (select max(id) from users) >= (select last_value from users_seq);
+select setval('students_seq', (select max(id) from students) + 50)
+where (select max(id) from students) >= (select last_value from students_seq);
+select setval('teachers_seq', (select max(id) from teachers) + 50)
+where (select max(id) from teachers) >= (select last_value from teachers_seq);
+select setval('courses_seq', (select max(id) from courses) + 50)
+where (select max(id) from courses) >= (select last_value from courses_seq);
+select setval('enrollments_seq', (select max(id) from enrollments) + 50)
+where (select max(id) from enrollments) >= (select last_value from enrollments_seq);
+
+-- Copy the student_courses rows over. Their ids are drawn from enrollments_seq, each one
+-- the top of a block Hibernate will not hand out again
+do $$
+begin
+    if to_regclass('student_courses') is not null then
+        insert into enrollments (id, student_id, course_id, status, created_at, updated_at)
+        select nextval('enrollments_seq'), sc.student_id, sc.course_id, 'ENROLLED', now(), now()
+        from (select distinct student_id, course_id from student_courses) sc
+        on conflict (student_id, course_id) do nothing;
+        drop table student_courses;
+    end if;
+end $$;
@@ -0,0 +1,12 @@
+-- Indexes behind the foreign-key and lookup queries (findByDepartmentId, findByTeacherId,
+-- findByRole, countByCourseId and the course rosters). students/teachers.user_id are
+-- already indexed by their unique constraints, enrollments.student_id by
+-- uk_enrollment_student_course.
+-- Built concurrently, so writes to these tables continue while an existing database is
+-- indexed. V3__lookup_indexes.sql.conf runs this script outside a transaction.
+create index concurrently if not exists idx_students_department_id on students (department_id);
+create index concurrently if not exists idx_teachers_department_id on teachers (department_id);
+create index concurrently if not exists idx_courses_department_id on courses (department_id);
+create index concurrently if not exists idx_courses_teacher_id on courses (teacher_id);
+create index concurrently if not exists idx_users_role on users (role);
+create index concurrently if not exists idx_enrollments_course_id on enrollments (course_id);
@@ -0,0 +1,129 @@
+package com.student_management_system.niloy.config;
+
+import com.student_management_system.niloy.NiloyApplication;
+import com.student_management_system.niloy.model.Student;
+import com.student_management_system.niloy.service.StudentService;
+import com.student_management_system.niloy.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The datagen profile at a small scale, on its own H2 database.
+ */
+@SpringBootTest
+@ActiveProfiles("datagen")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:datagen",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "app.datagen.departments=4",
+    "app.datagen.teachers=6",
+    "app.datagen.courses=30",
+    "app.datagen.students=250",
+    "app.datagen.enrollments-per-student=5",
+    "app.datagen.chunk-size=100",
+    "app.datagen.batch-size=50"
+})
+public class DataGeneratorTest {
+
+    @Autowired
+    private DataGenerator dataGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void generatesTheConfiguredVolumesOnce() {
+        assertEquals(250, count("select count(*) from students where student_id like 'GS%'"));
+        assertEquals(6, count("select count(*) from teachers where employee_id like 'GT%'"));
+        assertEquals(30, count("select count(*) from courses where course_code like 'GC%'"));
+        assertEquals(250 * 5, count("select count(*) from enrollments e join students s on s.id = e.student_id "
+                + "where s.student_id like 'GS%'"));
+
+        // Running again (a restart against the same database) adds nothing
+        dataGenerator.run();
+        assertEquals(250, count("select count(*) from students where student_id like 'GS%'"));
+    }
+
+    @Test
+    void generatedAccountsCanLogIn() {
+        Student student = studentService.getStudentByStudentId("GS0000249").orElseThrow();
+        assertNotNull(student.getFirstName());
+        assertNotNull(student.getUpdatedAt());
+
+        String hash = userService.getUserByUsername("gen_student249").orElseThrow().getPassword();
+        assertTrue(passwordEncoder.matches("password123", hash));
+    }
+
+    @Test
+    void anInterruptedRunIsCompletedWithTheSameData() {
+        List<String> students = generatedStudents();
+        List<String> enrollments = generatedEnrollments();
+
+        // As if the run had stopped in the middle of the chunk of students 100 to 199
+        String interrupted = "select id from students where student_id >= 'GS0000130' and student_id like 'GS%'";
+        String interruptedUsers = "select user_id from students where student_id >= 'GS0000130' and student_id like 'GS%'";
+        List<Long> userIds = jdbcTemplate.queryForList(interruptedUsers, Long.class);
+        jdbcTemplate.update("delete from enrollments where student_id in (" + interrupted + ")");
+        jdbcTemplate.update("delete from students where student_id >= 'GS0000130' and student_id like 'GS%'");
+        userIds.forEach(id -> jdbcTemplate.update("delete from users where id = ?", id));
+
+        dataGenerator.run();
+
+        assertEquals(students, generatedStudents());
+        assertEquals(enrollments, generatedEnrollments());
+        assertEquals(4, count("select count(*) from departments where name like 'Generated Department %'"));
+    }
+
+    @Test
+    void coursesWithoutTeachersFailStartup() {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(NiloyApplication.class).profiles("datagen");
+
+        Exception failure = assertThrows(Exception.class, () -> application.run(
+                "--spring.datasource.url=jdbc:h2:mem:datagen-invalid",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--server.port=0",
+                "--app.datagen.teachers=0"));
+        Throwable cause = failure;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        assertEquals("app.datagen.teachers must be at least 1, was 0", cause.getMessage());
+    }
+
+    private List<String> generatedStudents() {
+        return jdbcTemplate.queryForList("select s.student_id || ' ' || s.first_name || ' ' || s.last_name || ' ' "
+                + "|| s.phone || ' ' || d.name || ' ' || u.username from students s join departments d on d.id = s.department_id "
+                + "join users u on u.id = s.user_id where s.student_id like 'GS%' order by s.student_id", String.class);
+    }
+
+    private List<String> generatedEnrollments() {
+        return jdbcTemplate.queryForList("select s.student_id || ' ' || c.course_code from enrollments e "
+                + "join students s on s.id = e.student_id join courses c on c.id = e.course_id "
+                + "where s.student_id like 'GS%' order by s.student_id, c.course_code", String.class);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
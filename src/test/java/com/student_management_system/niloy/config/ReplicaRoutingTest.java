@@ -0,0 +1,202 @@
+package com.student_management_system.niloy.config;
+
+import com.student_management_system.niloy.model.Course;
+import com.student_management_system.niloy.model.Department;
+import com.student_management_system.niloy.model.Role;
+import com.student_management_system.niloy.model.Student;
+import com.student_management_system.niloy.model.User;
+import com.student_management_system.niloy.service.AccountPrincipal;
+import com.student_management_system.niloy.service.CourseService;
+import com.student_management_system.niloy.service.DepartmentService;
+import com.student_management_system.niloy.service.EnrollmentQueue;
+import com.student_management_system.niloy.service.EnrollmentTicket;
+import com.student_management_system.niloy.service.StudentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Read-replica routing with two H2 databases standing in for primary and replica.
+ *
+ * Replication is simulated: {@link #replicate()} copies the primary into the replica, so
+ * anything written afterwards exists only on the primary until the next copy, as if the
+ * replica were lagging. Rows inserted into the replica alone show which side a read hit.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:primary",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "app.datasource.replica.enabled=true",
+    "app.datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+    "app.datasource.replica.username=sa",
+    "app.datasource.replica.password=",
+    "app.datasource.replica.lag-query=select coalesce(max(lag_millis), 0) from replica_lag",
+    "app.datasource.replica.lag-probe-interval=1h",
+    "app.enrollment.async.enabled=true"
+})
+public class ReplicaRoutingTest {
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @TempDir
+    static Path snapshots;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EnrollmentQueue enrollmentQueue;
+
+    @Autowired
+    private ReplicaRouting replicaRouting;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private Environment environment;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    /** The replica needs the schema before the application starts reading from it. */
+    @BeforeAll
+    static void createReplicaSchema() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+        new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""))
+                .execute("create table replica_lag (lag_millis bigint)");
+    }
+
+    /** Each test starts signed out. */
+    @BeforeEach
+    void replicate() {
+        SecurityContextHolder.clearContext();
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaRouting.getReplicaDataSource());
+        String snapshot = snapshots.resolve("primary.sql").toString();
+        primary.execute("script drop to '" + snapshot + "'");
+        replica.execute("runscript from '" + snapshot + "'");
+        setReplicaLag(0);
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyGettersUseTheReplicaAndWritesThePrimary() {
+        replica.update("insert into departments (id, name, description) values (-1, 'Replica Only', 'Not on the primary')");
+        assertTrue(departmentService.getDepartmentByName("Replica Only").isPresent());
+
+        departmentService.createDepartment(new Department("Primary Only", "Not replicated yet"));
+        assertEquals(1, count(primary, "select count(*) from departments where name = 'Primary Only'"));
+        assertEquals(0, count(replica, "select count(*) from departments where name = 'Primary Only'"));
+
+        // Signed out, nothing pins reads to the primary
+        assertTrue(departmentService.getDepartmentByName("Primary Only").isEmpty());
+    }
+
+    @Test
+    void aStudentReadsTheirOwnEnrollmentFromThePrimary() {
+        Student student = studentService.getStudentByStudentId("S002").orElseThrow();
+        Course course = courseService.getCourseByCourseCode("CSE201").orElseThrow();
+
+        signInAs(student.getUser().getId(), student.getId());
+        assertTrue(studentService.enrollInCourse(student.getId(), course.getId()));
+
+        // Another user still reads the lagging replica
+        signInAs(-1L, null);
+        assertTrue(studentService.getEnrollmentViews(student.getId()).isEmpty());
+
+        signInAs(student.getUser().getId(), student.getId());
+        assertEquals(1, studentService.getEnrollmentViews(student.getId()).size(), "own write, read from the primary");
+        assertTrue(studentService.unenrollFromCourse(student.getId(), course.getId()));
+    }
+
+    @Test
+    void aQueuedEnrollmentPinsItsStudentToThePrimary() throws InterruptedException {
+        Student student = studentService.getStudentByStudentId("S002").orElseThrow();
+        Course course = courseService.getCourseByCourseCode("CSE201").orElseThrow();
+
+        // Committed by the queue worker, outside the student's request
+        EnrollmentTicket ticket = enrollmentQueue.submit(student.getUser().getId(), student.getId(), course.getId());
+        for (int i = 0; i < 100 && !ticket.isFinished(); i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(EnrollmentTicket.Status.ENROLLED, ticket.getStatus());
+
+        signInAs(-1L, null);
+        assertTrue(studentService.getEnrollmentViews(student.getId()).isEmpty());
+
+        signInAs(student.getUser().getId(), student.getId());
+        assertEquals(1, studentService.getEnrollmentViews(student.getId()).size(), "own write, read from the primary");
+        assertTrue(studentService.unenrollFromCourse(student.getId(), course.getId()));
+    }
+
+    @Test
+    void readsGoToThePrimaryWhileTheReplicaIsTooFarBehind() {
+        replica.update("insert into departments (id, name, description) values (-1, 'Replica Only', 'Not on the primary')");
+
+        setReplicaLag(60_000);
+        assertTrue(departmentService.getDepartmentByName("Replica Only").isEmpty());
+
+        setReplicaLag(0);
+        assertTrue(departmentService.getDepartmentByName("Replica Only").isPresent());
+    }
+
+    @Test
+    void aReplicaWithoutALagQueryFailsStartup() {
+        assertThrows(IllegalStateException.class, () -> new ReplicaRoutingConfig().replicaRouting(primaryDataSource,
+                environment, new SimpleMeterRegistry(), true, "", Duration.ofSeconds(1), Duration.ofSeconds(2)));
+    }
+
+    private void setReplicaLag(long millis) {
+        replica.update("delete from replica_lag");
+        replica.update("insert into replica_lag values (?)", millis);
+        replicaRouting.getLagMonitor().probe();
+    }
+
+    private static void signInAs(Long userId, Long profileId) {
+        User user = new User("user" + userId, "", "user" + userId + "@example.com", Role.STUDENT);
+        user.setId(userId);
+        AccountPrincipal principal = new AccountPrincipal(user, profileId);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static long count(JdbcTemplate jdbcTemplate, String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
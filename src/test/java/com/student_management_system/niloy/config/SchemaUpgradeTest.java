@@ -0,0 +1,95 @@
+package com.student_management_system.niloy.config;
+
+import com.student_management_system.niloy.model.Course;
+import com.student_management_system.niloy.model.Department;
+import com.student_management_system.niloy.model.Student;
+import com.student_management_system.niloy.service.CourseService;
+import com.student_management_system.niloy.service.DepartmentService;
+import com.student_management_system.niloy.service.StudentService;
+import com.student_management_system.niloy.support.PostgresDatabase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Upgrading a PostgreSQL database that ddl-auto=update created (db/update-managed-schema.sql)
+ * to the migrated schema. Flyway baselines it at V1, so only the later versions run on it,
+ * and the application has to start on the result with Hibernate validating the schema.
+ */
+@SpringBootTest
+@EnabledIf(PostgresDatabase.AVAILABLE)
+public class SchemaUpgradeTest {
+
+    @DynamicPropertySource
+    static void updateManagedDatabase(DynamicPropertyRegistry registry) {
+        String url = PostgresDatabase.create("schema_upgrade");
+        new ResourceDatabasePopulator(new ClassPathResource("db/update-managed-schema.sql"))
+                .execute(new DriverManagerDataSource(url, PostgresDatabase.username(), PostgresDatabase.password()));
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", PostgresDatabase::username);
+        registry.add("spring.datasource.password", PostgresDatabase::password);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Test
+    void theDatabaseIsBaselinedAndMigrated() {
+        assertEquals(List.of("1 BASELINE true", "2 SQL true", "3 SQL true", "4 SQL true"), jdbcTemplate.queryForList(
+                "select version || ' ' || type || ' ' || success from flyway_schema_history order by installed_rank",
+                String.class));
+        assertEquals(List.of("idx_courses_department_id", "idx_courses_teacher_id", "idx_enrollments_course_id",
+                        "idx_students_department_id", "idx_teachers_department_id", "idx_users_role"),
+                jdbcTemplate.queryForList("select c.relname from pg_index i join pg_class c on c.oid = i.indexrelid "
+                        + "where c.relname like 'idx\\_%' and i.indisvalid order by c.relname", String.class));
+    }
+
+    @Test
+    void studentCoursesAreCopiedIntoEnrollments() {
+        assertNull(jdbcTemplate.queryForObject("select to_regclass('student_courses')::text", String.class));
+        assertEquals(List.of("S001 CSE101", "S001 CSE201", "S002 EEE101"), jdbcTemplate.queryForList(
+                "select s.student_id || ' ' || c.course_code from enrollments e join students s on s.id = e.student_id "
+                        + "join courses c on c.id = e.course_id order by 1", String.class));
+    }
+
+    @Test
+    void aStudentWithoutAStudentIdGetsAPlaceholder() {
+        assertEquals(List.of("S001", "S002", "UNASSIGNED-3"),
+                jdbcTemplate.queryForList("select student_id from students order by id", String.class));
+    }
+
+    @Test
+    void newRowsGetIdsPastTheExistingOnes() {
+        Department department = departmentService.createDepartment(new Department("Upgraded", "Added after the upgrade"));
+        assertTrue(department.getId() > 2);
+        assertNotNull(department.getUpdatedAt());
+
+        Student student = studentService.getStudentByStudentId("S002").orElseThrow();
+        Course course = courseService.getCourseByCourseCode("CSE101").orElseThrow();
+        assertTrue(studentService.enrollInCourse(student.getId(), course.getId()));
+        assertEquals(4, jdbcTemplate.queryForObject("select count(*) from enrollments", Long.class));
+
+        assertTrue(studentService.unenrollFromCourse(student.getId(), course.getId()));
+    }
+}
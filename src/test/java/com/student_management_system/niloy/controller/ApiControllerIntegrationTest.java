@@ -0,0 +1,183 @@
+package com.student_management_system.niloy.controller;
+
+import com.student_management_system.niloy.model.Course;
+import com.student_management_system.niloy.model.ResourceVersion;
+import com.student_management_system.niloy.model.Role;
+import com.student_management_system.niloy.model.Student;
+import com.student_management_system.niloy.model.User;
+import com.student_management_system.niloy.service.AccountPrincipal;
+import com.student_management_system.niloy.service.CourseService;
+import com.student_management_system.niloy.service.DepartmentService;
+import com.student_management_system.niloy.service.StudentService;
+import com.student_management_system.niloy.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * JSON API projections and conditional GETs against the seeded H2 database.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional
+public class ApiControllerIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @BeforeEach
+    void setUp() {
+        this.mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .apply(springSecurity())
+            .build();
+    }
+
+    @Test
+    @WithUserDetails("teacher1")
+    void coursesAnswer304UntilACourseChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/courses"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Last-Modified"))
+            .andExpect(jsonPath("$.content[0].courseCode").value("CSE101"))
+            .andExpect(jsonPath("$.page.totalElements").value(3))
+            .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/v1/courses").header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("Cache-Control", "no-cache, private"))
+            .andExpect(content().string(""));
+
+        Course course = courseService.getCourseByCourseCode("CSE201").orElseThrow();
+        course.setCredits(5);
+        courseService.updateCourse(course.getId(), course);
+
+        mockMvc.perform(get("/api/v1/courses").header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    @WithUserDetails("teacher1")
+    void deletingACourseIsNotHiddenByIfModifiedSince() throws Exception {
+        Long id = courseService.createCourse(new Course("CSE999", "Seminar", "Short-lived", 1)).getId();
+        mockMvc.perform(get("/api/v1/courses/{id}", id))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("Last-Modified"));
+
+        courseService.deleteCourse(id);
+
+        // Nothing left in the catalog is newer than a minute from now, but a row is gone
+        String future = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(1));
+        mockMvc.perform(get("/api/v1/courses").header("If-Modified-Since", future))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.page.totalElements").value(3));
+    }
+
+    @Test
+    void replacingARowWithinTheSameTimestampChangesTheETag() {
+        LocalDateTime modified = LocalDateTime.of(2026, 1, 5, 9, 30, 0, 123_456_000);
+
+        ResourceVersion before = new ResourceVersion(3L, 41L, modified);
+        ResourceVersion replaced = new ResourceVersion(3L, 42L, modified);
+        ResourceVersion sameMillisecond = new ResourceVersion(3L, 41L, modified.plusNanos(500_000));
+
+        assertNotEquals(before.getETag(), replaced.getETag());
+        assertNotEquals(before.getETag(), sameMillisecond.getETag());
+        assertEquals(before.getLastModifiedMillis(), sameMillisecond.getLastModifiedMillis());
+    }
+
+    @Test
+    @WithUserDetails("teacher1")
+    void studentsAreProjectionsWithoutAccountDetails() throws Exception {
+        mockMvc.perform(get("/api/v1/students").param("size", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.content[0].password").doesNotExist())
+            .andExpect(jsonPath("$.content[0].user").doesNotExist());
+
+        Long id = studentService.getStudentByStudentId("S001").orElseThrow().getId();
+        mockMvc.perform(get("/api/v1/students/{id}", id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.firstName").value("Alice"))
+            .andExpect(jsonPath("$.email").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/students/{id}", -1))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithUserDetails("student1")
+    void studentsSeeOnlyTheirOwnEnrollments() throws Exception {
+        mockMvc.perform(get("/api/v1/me/enrollments"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("ETag"))
+            .andExpect(jsonPath("$").isArray());
+
+        mockMvc.perform(get("/api/v1/students"))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithAnonymousUser
+    void anonymousCallersGet401() throws Exception {
+        mockMvc.perform(get("/api/v1/courses"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void accountWithoutAProfileGets404UntilTheProfileIsCreated() throws Exception {
+        User account = userService.createUser("noprofile", "secret123", "noprofile@test.com", Role.STUDENT);
+        AccountPrincipal principal = new AccountPrincipal(account, null);
+
+        mockMvc.perform(get("/api/v1/me/enrollments").with(user(principal)))
+            .andExpect(status().isNotFound());
+
+        studentService.createStudent(new Student(account, "No", "Profile", "NP001",
+                departmentService.getDepartmentByName("Computer Science").orElseThrow()));
+
+        // The same session principal is completed on the next request
+        mockMvc.perform(get("/api/v1/me/enrollments").with(user(principal)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+}
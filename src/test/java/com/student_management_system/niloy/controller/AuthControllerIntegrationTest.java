@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
@@ -14,6 +15,9 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -140,6 +144,30 @@ public class AuthControllerIntegrationTest {
         // This protects your app! If this test fails, anyone can see
         // private student data without logging in. That's bad!
     }
+
+    // ========================================
+    // ✅ TEST 3: Are Old Password Hashes Upgraded?
+    // ========================================
+    @Test
+    void test3_LegacyHashIsUpgradedOnLogin() throws Exception {
+
+        // 📖 WHAT ARE WE TESTING?
+        // Older accounts store a plain BCrypt hash (no "{bcrypt}" prefix, lower cost).
+        // After a successful login the hash should be rewritten with the current settings.
+
+        // 🔧 ARRANGE: Give our test user an old-style, cheap hash
+        User user = userRepository.findByUsername("student123").orElseThrow();
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        userRepository.save(user);
+
+        // 🎬 ACT: Log in through the real login form
+        mockMvc.perform(formLogin("/login").user("student123").password("password123"))
+            .andExpect(authenticated());
+
+        // ✅ ASSERT: The stored hash now has the prefix and the configured cost
+        String stored = userRepository.findByUsername("student123").orElseThrow().getPassword();
+        assertTrue(stored.startsWith("{bcrypt}$2a$10$"), "Hash should be upgraded, was " + stored);
+    }
 }
 
 /**
@@ -155,6 +183,9 @@ public class AuthControllerIntegrationTest {
  * - Dashboard is protected
  * - Non-logged-in users are redirected to login
  * 
+ * Test 3: Password Upgrade Works ✅
+ * - Old password hashes are re-hashed after a successful login
+ * 
  * ============================================
  * 🎓 KEY CONCEPTS FOR BEGINNERS
  * ============================================
@@ -218,7 +249,7 @@ public class AuthControllerIntegrationTest {
  *   Click the ▶️ button above the class name
  * 
  * What to expect:
- *   ✅ Tests run: 2, Failures: 0, Errors: 0
+ *   ✅ Tests run: 3, Failures: 0, Errors: 0
  *   ✅ BUILD SUCCESS
  *   Takes 5-10 seconds (slower than unit tests)
  * 
@@ -0,0 +1,107 @@
+package com.student_management_system.niloy.controller;
+
+import com.student_management_system.niloy.config.MetricsConfig;
+import com.student_management_system.niloy.service.StudentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Service timers, pool and Hibernate meters, and the Prometheus scrape endpoint.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "app.metrics.scrape-token=test-scrape-token"
+})
+public class MetricsIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private StudentService studentService;
+
+    @BeforeEach
+    void setUp() {
+        this.mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .apply(springSecurity())
+            .build();
+    }
+
+    @Test
+    void servicesPoolAndHibernateAreMetered() {
+        studentService.getStudentByStudentId("S001");
+
+        Timer timer = meterRegistry.find(MetricsConfig.SERVICE_TIMER)
+            .tag("class", StudentService.class.getName())
+            .tag("method", "getStudentByStudentId")
+            .timer();
+        assertNotNull(timer, "Public service methods are timed");
+        assertTrue(timer.count() > 0);
+
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.pending").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.acquire").timer());
+        assertNotNull(meterRegistry.find("hibernate.query.executions").functionCounter());
+        assertNotNull(meterRegistry.find("hibernate.entities.loads").functionCounter());
+        assertNotNull(meterRegistry.find("hibernate.statements").functionCounter());
+    }
+
+    @Test
+    void prometheusScrapeNeedsTheTokenOrATeacherSession() throws Exception {
+        studentService.getStudentByStudentId("S001");
+
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer test-scrape-token"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("app_service_seconds_count")))
+            .andExpect(content().string(not(containsString("app_service_seconds_bucket"))))
+            .andExpect(content().string(containsString("hikaricp_connections_active")));
+
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer wrong-token"))
+            .andExpect(status().isUnauthorized());
+
+        // Scrapes never go through the password encoder
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("teacher1", "password123")))
+            .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/prometheus").with(user("teacher1").roles("TEACHER")))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus").with(user("student1").roles("STUDENT")))
+            .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("teacher1", "password123")))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/health"))
+            .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,388 @@
+package com.student_management_system.niloy.controller;
+
+import com.student_management_system.niloy.model.*;
+import com.student_management_system.niloy.repository.CourseRepository;
+import com.student_management_system.niloy.repository.EnrollmentRepository;
+import com.student_management_system.niloy.repository.StudentRepository;
+import com.student_management_system.niloy.service.*;
+import com.student_management_system.niloy.support.QueryCountingConfiguration;
+import com.student_management_system.niloy.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.AbstractMockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement budgets for every page, form post, JSON endpoint and export.
+ *
+ * Each endpoint has a fixed number of statements it may issue, counted on the DataSource so
+ * that JdbcTemplate work and background jobs (CSV import, department retirement) are
+ * included. The counts are measured again after the students, courses and enrollments have
+ * grown at least tenfold, and must not change: a lazy association touched per row (an N+1)
+ * makes the count grow with the data.
+ */
+@SpringBootTest
+@Import(QueryCountingConfiguration.class)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:querybudget",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "app.security.password.bcrypt-strength=4"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class QueryBudgetTest {
+
+    private static final int IMPORTED_ROWS = 20;
+    private static final Duration JOB_TIMEOUT = Duration.ofSeconds(30);
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private TeacherService teacherService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private DepartmentRetirementService departmentRetirementService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private UserDetails teacher;
+    private UserDetails student;
+    private List<Endpoint> endpoints;
+    private int fixtures;
+    /** Makes the names posted by each measuring round unique. */
+    private int round;
+
+    private enum Completion {
+        /** The response is complete when the handler returns. */
+        NONE,
+        /** Streamed by an async dispatch. */
+        ASYNC,
+        /** Redirects to a CSV import job, which is waited for. */
+        IMPORT_JOB,
+        /** Redirects to a department retirement job, which is waited for. */
+        RETIREMENT_JOB
+    }
+
+    private record Endpoint(String name, boolean asTeacher, int budget, Supplier<AbstractMockHttpServletRequestBuilder<?>> request,
+                            Completion completion) {
+
+        static Endpoint teacher(String path, int budget) {
+            return new Endpoint(path, true, budget, () -> get(path), Completion.NONE);
+        }
+
+        static Endpoint student(String path, int budget) {
+            return new Endpoint(path, false, budget, () -> get(path), Completion.NONE);
+        }
+
+        static Endpoint export(String path, int budget) {
+            return new Endpoint(path, true, budget, () -> get(path), Completion.ASYNC);
+        }
+
+        static Endpoint teacherPost(String name, int budget, Supplier<AbstractMockHttpServletRequestBuilder<?>> request) {
+            return new Endpoint(name, true, budget, request, Completion.NONE);
+        }
+
+        static Endpoint studentPost(String name, int budget, Supplier<AbstractMockHttpServletRequestBuilder<?>> request) {
+            return new Endpoint(name, false, budget, request, Completion.NONE);
+        }
+
+        static Endpoint job(String name, int budget, Completion completion, Supplier<AbstractMockHttpServletRequestBuilder<?>> request) {
+            return new Endpoint(name, true, budget, request, completion);
+        }
+
+    }
+
+    @BeforeAll
+    void setUp() throws InterruptedException {
+        this.mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .apply(springSecurity())
+            .build();
+
+        assertTrue(searchService.awaitWarm(JOB_TIMEOUT), "The search index is loaded in the background");
+        teacher = userService.loadUserByUsername("teacher1");
+        student = userService.loadUserByUsername("student1");
+        Long studentId = studentService.getStudentByStudentId("S001").orElseThrow().getId();
+        Long courseId = courseService.getCourseByCourseCode("CSE101").orElseThrow().getId();
+        Long departmentId = departmentService.getDepartmentByName("Computer Science").orElseThrow().getId();
+        // A course student1 is never enrolled in by the fixtures, to enroll in and leave again
+        Course spare = new Course("QBSPARE", "Spare Budget Course", "Query budget fixture", 3);
+        Long spareCourseId = courseService.createCourse(spare).getId();
+
+        endpoints = List.of(
+            Endpoint.teacher("/dashboard", 0),
+            Endpoint.teacher("/teacher/dashboard", 7),
+            Endpoint.teacher("/teacher/profile", 2),
+            Endpoint.teacher("/teacher/students", 2),
+            Endpoint.teacher("/teacher/teachers", 2),
+            Endpoint.teacher("/teacher/courses", 2),
+            Endpoint.teacher("/teacher/departments", 1),
+            Endpoint.export("/teacher/export/students", 1),
+            Endpoint.export("/teacher/export/teachers", 1),
+            Endpoint.export("/teacher/export/courses", 1),
+            Endpoint.teacher("/search/students?q=first", 0),
+            Endpoint.teacher("/search/courses?q=budget", 0),
+            Endpoint.teacher("/api/v1/departments", 2),
+            Endpoint.teacher("/api/v1/courses", 3),
+            Endpoint.teacher("/api/v1/courses/" + courseId, 2),
+            Endpoint.teacher("/api/v1/students", 3),
+            Endpoint.teacher("/api/v1/students/" + studentId, 2),
+            Endpoint.student("/student/dashboard", 3),
+            Endpoint.student("/student/profile", 2),
+            Endpoint.student("/api/v1/me/enrollments", 2),
+
+            // Writes run in this order each round; deletes remove what the creates before them added.
+            // Budgets include one nextval per new entity type: JPA inserts fetch ids 50 at a time
+            Endpoint.studentPost("POST /student/enroll/{id}", 3, () -> post("/student/enroll/" + spareCourseId)),
+            Endpoint.studentPost("POST /student/unenroll/{id}", 1, () -> post("/student/unenroll/" + spareCourseId)),
+            Endpoint.studentPost("POST /student/profile/update", 3, () -> post("/student/profile/update")
+                .param("firstName", "Alice").param("lastName", "Johnson").param("phone", "555-0101")
+                .param("department.id", departmentId.toString())),
+            Endpoint.teacherPost("POST /teacher/profile/update", 2, () -> post("/teacher/profile/update")
+                .param("firstName", "John").param("lastName", "Smith").param("specialization", "Databases")
+                .param("department.id", departmentId.toString())),
+            Endpoint.teacherPost("POST /teacher/students/create", 9, () -> post("/teacher/students/create")
+                .param("username", "qbpost" + round).param("password", "secret123")
+                .param("email", "qbpost" + round + "@test.com").param("firstName", "Posted")
+                .param("lastName", "Student").param("studentId", "QBPOST" + round)
+                .param("departmentId", departmentId.toString())),
+            Endpoint.teacherPost("POST /teacher/students/delete/{id}", 6, () -> post("/teacher/students/delete/"
+                + studentService.getStudentByStudentId("QBPOST" + round).orElseThrow().getId())),
+            Endpoint.teacherPost("POST /teacher/courses/create", 4, () -> post("/teacher/courses/create")
+                .param("courseCode", "QBPOST" + round).param("courseName", "Posted Course").param("credits", "3")
+                .param("department.id", departmentId.toString()).param("teacherEmployeeId", "T001")),
+            Endpoint.teacherPost("POST /teacher/courses/delete/{id}", 2, () -> post("/teacher/courses/delete/"
+                + courseService.getCourseByCourseCode("QBPOST" + round).orElseThrow().getId())),
+            Endpoint.teacherPost("POST /teacher/departments/create", 3, () -> post("/teacher/departments/create")
+                .param("name", "Posted Department " + round).param("description", "Query budget fixture")),
+            Endpoint.job("POST /teacher/departments/delete/{id}", 10, Completion.RETIREMENT_JOB, () ->
+                post("/teacher/departments/delete/"
+                    + departmentService.getDepartmentByName("Posted Department " + round).orElseThrow().getId())
+                .param("targetDepartmentId", departmentId.toString()).param("courses", "MOVE")),
+            Endpoint.job("POST /teacher/import (" + IMPORTED_ROWS + " rows)", 9, Completion.IMPORT_JOB, () ->
+                multipart("/teacher/import").file(importFile()).param("kind", "STUDENT"))
+        );
+
+        addFixtures(3, 2);
+    }
+
+    @Test
+    void everyEndpointStaysWithinItsBudget() throws Exception {
+        List<String> failures = new ArrayList<>();
+        for (Map.Entry<Endpoint, List<String>> measured : measure().entrySet()) {
+            Endpoint endpoint = measured.getKey();
+            List<String> statements = measured.getValue();
+            if (statements.size() > endpoint.budget()) {
+                failures.add(endpoint.name() + " issued " + statements.size() + " statements, budget "
+                        + endpoint.budget() + ":\n    " + String.join("\n    ", statements));
+            }
+        }
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    /** Rendering runs after the session has closed, so a lazy association left unfetched fails the page. */
+    @Test
+    void pagesRenderWithoutOpenSessionInView() {
+        assertEquals(0, webApplicationContext.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class).length);
+    }
+
+    @Test
+    void queryCountsDoNotGrowWithRows() throws Exception {
+        // Paged lists only run their count query once there is more than one page,
+        // so both measurements are taken with every list longer than a page
+        addFixtures(30, 25);
+        long students = studentRepository.count();
+        long courses = courseRepository.count();
+        long enrollments = enrollmentRepository.count();
+        Map<Endpoint, List<String>> before = measure();
+
+        addFixtures((int) (9 * students), (int) (9 * courses));
+        assertTrue(studentRepository.count() >= 10 * students, "Students grew at least tenfold");
+        assertTrue(courseRepository.count() >= 10 * courses, "Courses grew at least tenfold");
+        assertTrue(enrollmentRepository.count() >= 10 * enrollments, "Enrollments grew at least tenfold");
+        Map<Endpoint, List<String>> after = measure();
+
+        List<String> grown = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            int countBefore = withoutSequenceCalls(before.get(endpoint)).size();
+            int countAfter = withoutSequenceCalls(after.get(endpoint)).size();
+            if (countAfter > countBefore) {
+                grown.add(endpoint.name() + ": " + countBefore + " -> " + countAfter);
+            }
+        }
+        assertTrue(grown.isEmpty(), "Statement count grows with the data for " + grown);
+    }
+
+    /** Runs every endpoint once, writes included, and returns the statements of each. */
+    private Map<Endpoint, List<String>> measure() throws Exception {
+        round++;
+        Map<Endpoint, List<String>> statements = new LinkedHashMap<>();
+        for (Endpoint endpoint : endpoints) {
+            statements.put(endpoint, record(endpoint));
+        }
+        return statements;
+    }
+
+    private List<String> record(Endpoint endpoint) throws Exception {
+        UserDetails principal = endpoint.asTeacher() ? teacher : student;
+        // Built before recording, as the delete requests look up what they delete
+        RequestBuilder request = endpoint.request().get().with(user(principal));
+        return sqlStatementCounter.record(() -> {
+            MvcResult result = mockMvc.perform(request).andReturn();
+            switch (endpoint.completion()) {
+                case ASYNC -> result = mockMvc.perform(asyncDispatch(result)).andReturn();
+                case IMPORT_JOB -> awaitImport(jobId(result));
+                case RETIREMENT_JOB -> awaitRetirement(jobId(result));
+                case NONE -> { }
+            }
+            int status = result.getResponse().getStatus();
+            assertTrue(status < 400, endpoint.name() + " answered " + status);
+            String redirect = result.getResponse().getRedirectedUrl();
+            assertFalse(redirect != null && redirect.contains("error"), endpoint.name() + " redirected to " + redirect);
+        });
+    }
+
+    /** Id blocks run out every 50 inserts, in whichever round happens to reach the end of one. */
+    private static List<String> withoutSequenceCalls(List<String> statements) {
+        return statements.stream().filter(sql -> !sql.toLowerCase(Locale.ROOT).contains("nextval(")).toList();
+    }
+
+    private void awaitImport(String jobId) throws InterruptedException {
+        ImportJob job = bulkImportService.getJob(jobId).orElseThrow();
+        await(job::isFinished);
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus(), job.getFailureMessage());
+        assertEquals(IMPORTED_ROWS, job.getImportedRows(), "Rejected rows: " + job.getErrors());
+    }
+
+    private void awaitRetirement(String jobId) throws InterruptedException {
+        DepartmentRetirementJob job = departmentRetirementService.getJob(jobId).orElseThrow();
+        await(job::isFinished);
+        assertEquals(DepartmentRetirementJob.Status.COMPLETED, job.getStatus(), job.getFailureMessage());
+    }
+
+    private static void await(BooleanSupplier finished) throws InterruptedException {
+        long deadline = System.nanoTime() + JOB_TIMEOUT.toNanos();
+        while (!finished.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Background job did not finish");
+            Thread.sleep(10);
+        }
+    }
+
+    private static String jobId(MvcResult result) {
+        String redirect = result.getResponse().getRedirectedUrl();
+        assertNotNull(redirect, "Expected a redirect to the job");
+        return redirect.substring(redirect.lastIndexOf('/') + 1);
+    }
+
+    /** A CSV of new students, with names unique to the current round. */
+    private MockMultipartFile importFile() {
+        StringBuilder csv = new StringBuilder("username,password,email,firstName,lastName,studentId,department\n");
+        for (int i = 0; i < IMPORTED_ROWS; i++) {
+            String id = "qbimport" + round + "x" + i;
+            csv.append(id).append(",secret123,").append(id).append("@test.com,Imported,Student,")
+                .append(id.toUpperCase(Locale.ROOT)).append(",Computer Science\n");
+        }
+        return new MockMultipartFile("file", "students.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Adds students and courses taught by teacher1. Every new student enrolls in
+     * up to three of the new courses, and student1 in all of them.
+     */
+    private void addFixtures(int students, int courses) {
+        Department department = departmentService.getDepartmentByName("Computer Science").orElseThrow();
+        Teacher teacher1 = teacherService.getTeacherByEmployeeId("T001").orElseThrow();
+
+        List<Course> newCourses = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        List<Student> newStudents = new ArrayList<>();
+        for (int i = 0; i < Math.max(students, courses); i++) {
+            String number = String.format("%04d", fixtures++);
+            if (i < courses) {
+                Course course = new Course("QB" + number, "Budget Course " + number, "Query budget fixture", 3);
+                course.setDepartment(department);
+                course.setTeacher(teacher1);
+                newCourses.add(course);
+            }
+            if (i < students) {
+                User user = new User("budget" + number, "secret123", "budget" + number + "@test.com", Role.STUDENT);
+                users.add(user);
+                newStudents.add(new Student(user, "First" + number, "Last" + number, "QB" + number, department));
+            }
+        }
+        courseService.createCourses(newCourses);
+        userService.createUsers(users);
+        studentService.createStudents(newStudents);
+
+        List<EnrollmentKey> keys = new ArrayList<>();
+        Long student1 = studentService.getStudentByStudentId("S001").orElseThrow().getId();
+        for (Course course : newCourses) {
+            keys.add(new EnrollmentKey(student1, course.getId()));
+        }
+        for (int i = 0; i < newStudents.size(); i++) {
+            for (int j = 0; j < Math.min(3, newCourses.size()); j++) {
+                Course course = newCourses.get((i + j) % newCourses.size());
+                keys.add(new EnrollmentKey(newStudents.get(i).getId(), course.getId()));
+            }
+        }
+        studentService.enrollAll(keys);
+    }
+}
@@ -0,0 +1,65 @@
+package com.student_management_system.niloy.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Fingerprinted, precompressed and long-cached static assets.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+public class StaticResourcesTest {
+
+    private static final Pattern STYLESHEET = Pattern.compile("href=\"(/css/style-[0-9a-f]{32}\\.css)\"");
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @BeforeEach
+    void setUp() {
+        this.mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .apply(springSecurity())
+            // Inside the security filter, as in the servlet container
+            .addFilters(new ResourceUrlEncodingFilter())
+            .build();
+    }
+
+    @Test
+    void stylesheetIsLinkedByContentHashAndCachedForAYear() throws Exception {
+        String page = mockMvc.perform(get("/login"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        Matcher link = STYLESHEET.matcher(page);
+        assertTrue(link.find(), "The login page should link the fingerprinted stylesheet");
+
+        mockMvc.perform(get(link.group(1)).header("Accept-Encoding", "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Cache-Control", containsString("immutable")))
+            .andExpect(header().string("Cache-Control", containsString("max-age=31536000")))
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andExpect(header().doesNotExist("Set-Cookie"));
+    }
+}
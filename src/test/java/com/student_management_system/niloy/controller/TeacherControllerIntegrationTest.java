@@ -0,0 +1,192 @@
+package com.student_management_system.niloy.controller;
+
+import com.student_management_system.niloy.model.Department;
+import com.student_management_system.niloy.model.Role;
+import com.student_management_system.niloy.model.Student;
+import com.student_management_system.niloy.model.User;
+import com.student_management_system.niloy.repository.DepartmentRepository;
+import com.student_management_system.niloy.repository.StudentRepository;
+import com.student_management_system.niloy.repository.UserRepository;
+import com.student_management_system.niloy.service.DashboardSummary;
+import com.student_management_system.niloy.service.KeysetPage;
+import com.student_management_system.niloy.service.SearchService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the teacher management pages.
+ * Runs against a temporary H2 database like {@link AuthControllerIntegrationTest}.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional
+@WithUserDetails("teacher1")
+public class TeacherControllerIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SearchService searchService;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        this.mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .apply(springSecurity())
+            .build();
+
+        department = departmentRepository.save(new Department("Paging Department", "Used by listing tests"));
+        for (int i = 1; i <= 25; i++) {
+            String number = String.format("%03d", i);
+            User user = userRepository.save(new User("paging" + number, "secret123", "paging" + number + "@test.com", Role.STUDENT));
+            studentRepository.save(new Student(user, "First" + number, "Last" + number, "P" + number, department));
+        }
+
+        // Start every request from an empty persistence context, like a real one
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // ========================================
+    // Student listing is keyset paginated
+    // ========================================
+    @Test
+    void manageStudentsWalksAllPagesWithCursor() throws Exception {
+        List<String> seen = new ArrayList<>();
+
+        KeysetPage<?> first = fetchStudentPage(null);
+        collectStudentIds(first, seen);
+        assertEquals(10, first.getContent().size(), "First page should be full");
+        assertTrue(first.isHasNext(), "First page should link to the next one");
+
+        KeysetPage<?> page = first;
+        while (page.isHasNext()) {
+            page = fetchStudentPage(page.getNextCursor());
+            collectStudentIds(page, seen);
+        }
+
+        assertEquals(25, seen.size(), "Every student should appear exactly once");
+        assertEquals("P001", seen.get(0));
+        assertEquals("P025", seen.get(24));
+    }
+
+    @Test
+    void manageStudentsFiltersByQuery() throws Exception {
+        mockMvc.perform(get("/teacher/students")
+                .param("q", "last007")
+                .param("departmentId", department.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(view().name("manage-students"))
+            .andExpect(model().attribute("students", org.hamcrest.Matchers.hasSize(1)));
+
+        // "_" is matched literally, not as a LIKE wildcard that would also match Last007 and Last017
+        mockMvc.perform(get("/teacher/students")
+                .param("q", "last_07")
+                .param("departmentId", department.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("students", org.hamcrest.Matchers.empty()));
+    }
+
+    // ========================================
+    // Dashboard uses counts and latest rows
+    // ========================================
+    @Test
+    void dashboardShowsCountsAndLatestStudents() throws Exception {
+        MvcResult result = mockMvc.perform(get("/teacher/dashboard"))
+            .andExpect(status().isOk())
+            .andExpect(view().name("teacher-dashboard"))
+            .andReturn();
+
+        DashboardSummary summary = (DashboardSummary) result.getModelAndView().getModel().get("summary");
+        assertEquals(studentRepository.count(), summary.getStudentCount());
+        assertEquals(5, summary.getRecentStudents().size());
+        assertEquals("P025", summary.getRecentStudents().get(0).getStudentId(), "Newest student should come first");
+    }
+
+    // ========================================
+    // Roster export is streamed
+    // ========================================
+    @Test
+    void exportStudentsStreamsCsv() throws Exception {
+        MvcResult started = mockMvc.perform(get("/teacher/export/students").param("format", "CSV"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String csv = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.containsString("students.csv")))
+            .andReturn().getResponse().getContentAsString();
+
+        String[] lines = csv.split("\r\n");
+        assertEquals("id,studentId,username,email,firstName,lastName,department,phone,address", lines[0]);
+        assertTrue(csv.contains(",S001,student1,student@example.com,Alice,Johnson,Computer Science,987-654-3210,123 Main St"));
+    }
+
+    @Test
+    void studentTypeAheadReturnsPagedProjections() throws Exception {
+        assertTrue(searchService.awaitWarm(Duration.ofSeconds(30)));
+        mockMvc.perform(get("/search/students").param("q", "alice jo").param("size", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].studentId").value("S001"))
+            .andExpect(jsonPath("$.content[0].email").value("student@example.com"))
+            .andExpect(jsonPath("$.page.size").value(5))
+            .andExpect(jsonPath("$.page.totalElements").value(1));
+    }
+
+    private KeysetPage<?> fetchStudentPage(String cursor) throws Exception {
+        MvcResult result = mockMvc.perform(get("/teacher/students")
+                .param("size", "10")
+                .param("departmentId", department.getId().toString())
+                .param("cursor", cursor == null ? "" : cursor))
+            .andExpect(status().isOk())
+            .andReturn();
+        return (KeysetPage<?>) result.getModelAndView().getModel().get("page");
+    }
+
+    private void collectStudentIds(KeysetPage<?> page, List<String> seen) {
+        for (Object row : page.getContent()) {
+            seen.add(((Student) row).getStudentId());
+        }
+    }
+}
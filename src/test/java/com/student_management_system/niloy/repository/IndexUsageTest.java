@@ -0,0 +1,158 @@
+package com.student_management_system.niloy.repository;
+
+import com.student_management_system.niloy.model.Role;
+import com.student_management_system.niloy.service.SearchService;
+import com.student_management_system.niloy.support.QueryCountingConfiguration;
+import com.student_management_system.niloy.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The hot lookup queries, as the repositories issue them, are answered from an index.
+ *
+ * The schema comes from the Flyway migrations alone (Hibernate only validates it), and the
+ * datagen profile fills it with a few thousand rows before the statistics are refreshed.
+ * Each repository call's SQL is captured and run through EXPLAIN with the same arguments.
+ * H2 also indexes every foreign key by itself, so the plans may name that index instead;
+ * the migration-owned indexes, which PostgreSQL needs, are checked in the metadata.
+ */
+@SpringBootTest
+@ActiveProfiles("datagen")
+@Import(QueryCountingConfiguration.class)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:indexes",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "app.datagen.departments=10",
+    "app.datagen.teachers=200",
+    "app.datagen.courses=1000",
+    "app.datagen.students=5000",
+    "app.datagen.enrollments-per-student=5",
+    "app.datagen.chunk-size=1000",
+    "app.datagen.batch-size=500"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class IndexUsageTest {
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private SearchService searchService;
+
+    private long departmentId;
+    private long teacherId;
+    private long courseId;
+    private long userId;
+
+    @BeforeAll
+    void analyze() throws InterruptedException {
+        // Otherwise the background load of the search index may run while a query is captured
+        assertTrue(searchService.awaitWarm(Duration.ofSeconds(60)));
+        jdbcTemplate.execute("analyze");
+        departmentId = jdbcTemplate.queryForObject("select max(id) from departments", Long.class);
+        teacherId = jdbcTemplate.queryForObject("select max(id) from teachers", Long.class);
+        courseId = jdbcTemplate.queryForObject("select max(id) from courses", Long.class);
+        userId = jdbcTemplate.queryForObject("select max(user_id) from students", Long.class);
+    }
+
+    @Test
+    void migrationsCreateTheLookupIndexes() {
+        assertIndex("students", "idx_students_department_id", "department_id");
+        assertIndex("teachers", "idx_teachers_department_id", "department_id");
+        assertIndex("courses", "idx_courses_department_id", "department_id");
+        assertIndex("courses", "idx_courses_teacher_id", "teacher_id");
+        assertIndex("users", "idx_users_role", "role");
+        assertIndex("enrollments", "idx_enrollments_course_id", "course_id");
+    }
+
+    @Test
+    void departmentLookupsUseAnIndex() throws Exception {
+        assertIndexScan("department_id", () -> studentRepository.findByDepartmentId(departmentId), departmentId);
+        assertIndexScan("department_id", () -> teacherRepository.findByDepartmentId(departmentId), departmentId);
+        assertIndexScan("department_id", () -> courseRepository.findByDepartmentId(departmentId), departmentId);
+    }
+
+    @Test
+    void teacherCoursesAndCourseRostersUseAnIndex() throws Exception {
+        assertIndexScan("teacher_id", () -> courseRepository.findByTeacherId(teacherId), teacherId);
+        assertIndexScan("course_id", () -> enrollmentRepository.countByCourseId(courseId), courseId);
+    }
+
+    @Test
+    void userLookupsUseAnIndex() throws Exception {
+        assertIndexScan("role", () -> userRepository.findByRole(Role.TEACHER), Role.TEACHER.name());
+        assertIndexScan("user_id", () -> studentRepository.findByUserId(userId), userId);
+        assertIndexScan("user_id", () -> teacherRepository.findByUserId(userId), userId);
+    }
+
+    private void assertIndexScan(String column, SqlStatementCounter.ThrowingRunnable query, Object... args)
+            throws Exception {
+        List<String> statements = sqlStatementCounter.record(query);
+        assertEquals(1, statements.size(), statements.toString());
+        assertPlanUsesIndex(column, statements.get(0), args);
+    }
+
+    /**
+     * H2 plans name the index they read next to the table, e.g.
+     * {@code /* PUBLIC.IDX_USERS_ROLE: ROLE = ?1 *}{@code /}, and a full scan as {@code tableScan}.
+     */
+    protected void assertPlanUsesIndex(String column, String sql, Object... args) {
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class, args);
+        assertFalse(plan.contains("tableScan"), plan);
+        assertTrue(Pattern.compile("/\\* PUBLIC\\.\\w+: " + column.toUpperCase(Locale.ROOT) + " = ").matcher(plan).find(), plan);
+    }
+
+    private void assertIndex(String table, String index, String column) {
+        List<String> columns = jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            List<String> indexColumns = new ArrayList<>();
+            DatabaseMetaData metaData = connection.getMetaData();
+            String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+            try (ResultSet rs = metaData.getIndexInfo(null, null, tableName, false, false)) {
+                while (rs.next()) {
+                    if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                        indexColumns.add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            return indexColumns;
+        });
+        assertEquals(List.of(column), columns, index);
+    }
+}
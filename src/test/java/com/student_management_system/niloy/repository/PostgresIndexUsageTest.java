@@ -0,0 +1,72 @@
+package com.student_management_system.niloy.repository;
+
+import com.student_management_system.niloy.support.PostgresDatabase;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link IndexUsageTest} on PostgreSQL (see {@link PostgresDatabase}), which does not index
+ * foreign keys by itself, so only the migrations' indexes can answer these lookups.
+ *
+ * At this size a sequential scan is cheaper than some of the index scans, so the EXPLAIN
+ * runs with sequential scans switched off: the plan then shows whether an index can answer
+ * the query at all, rather than which one the planner prefers for a few thousand rows.
+ */
+@EnabledIf(PostgresDatabase.AVAILABLE)
+public class PostgresIndexUsageTest extends IndexUsageTest {
+
+    @DynamicPropertySource
+    static void postgresDatabase(DynamicPropertyRegistry registry) {
+        String url = PostgresDatabase.create("index_usage");
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", PostgresDatabase::username);
+        registry.add("spring.datasource.password", PostgresDatabase::password);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * PostgreSQL plans name the index next to the scan, e.g.
+     * {@code Index Scan using idx_users_role on users u} with {@code Index Cond: ((role)::text = ...)}.
+     */
+    @Override
+    protected void assertPlanUsesIndex(String column, String sql, Object... args) {
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            StringBuilder lines = new StringBuilder();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set enable_seqscan = off");
+            }
+            try (PreparedStatement explain = connection.prepareStatement("explain " + sql)) {
+                for (int i = 0; i < args.length; i++) {
+                    explain.setObject(i + 1, args[i]);
+                }
+                try (ResultSet rs = explain.executeQuery()) {
+                    while (rs.next()) {
+                        lines.append(rs.getString(1)).append('\n');
+                    }
+                }
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("reset enable_seqscan");
+                }
+            }
+            return lines.toString();
+        });
+        assertFalse(plan.contains("Seq Scan"), plan);
+        assertTrue(Pattern.compile("Index (Only )?Scan using \\w+|Bitmap Index Scan on \\w+").matcher(plan).find(), plan);
+        assertTrue(Pattern.compile("Index Cond: \\(+" + column + "\\)?(::\\w+)? = ").matcher(plan).find(), plan);
+    }
+}
@@ -0,0 +1,76 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.model.Department;
+import com.student_management_system.niloy.model.Role;
+import com.student_management_system.niloy.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Batch save APIs: sequence ids, batched inserts and up-front duplicate checks.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:batchtest",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+public class BatchWriteTest {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void departmentsAreInsertedInOneBatch() {
+        List<Department> departments = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            departments.add(new Department("Batch Department " + i, "Created in one batch"));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<Department> saved = departmentService.createDepartments(departments);
+
+        assertEquals(20, saved.size());
+        assertTrue(saved.stream().allMatch(d -> d.getId() != null));
+        assertEquals(20, statistics.getEntityInsertCount());
+        // Duplicate check, one nextval and a single batched insert statement
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Prepared " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void duplicatesRejectTheWholeBatch() {
+        List<User> users = List.of(
+                new User("batch1", "secret1", "batch1@example.com", Role.STUDENT),
+                new User("teacher1", "secret2", "batch2@example.com", Role.STUDENT));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> userService.createUsers(users));
+        assertEquals("Username already exists: teacher1", e.getMessage());
+        assertTrue(userService.getUserByUsername("batch1").isEmpty());
+
+        List<User> saved = userService.createUsers(List.of(
+                new User("batch1", "secret1", "batch1@example.com", Role.STUDENT)));
+        assertTrue(passwordEncoder.matches("secret1", saved.getFirst().getPassword()));
+    }
+}
@@ -0,0 +1,132 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.model.Role;
+import com.student_management_system.niloy.model.Student;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the CSV import synchronously against the seeded H2 database.
+ * Each test rolls back, so the imported accounts do not leak into other tests sharing the database.
+ */
+@SpringBootTest
+@Transactional
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+public class BulkImportServiceTest {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void importsValidRowsAndReportsTheRest() throws Exception {
+        String csv = String.join("\n",
+                "username,password,email,firstName,lastName,studentId,department,phone",
+                "imp_one,secret123,imp_one@example.com,Ada,Lovelace,IMP001,Computer Science,0123",
+                "imp_two,secret123,imp_two@example.com,\"Grace, M.\",Hopper,IMP002,computer science,",
+                "imp_one,secret123,other@example.com,Dup,User,IMP003,Computer Science,",
+                "student1,secret123,taken@example.com,Taken,User,IMP004,Computer Science,",
+                "imp_five,secret123,imp_five@example.com,No,Dept,IMP005,Astrology,",
+                "imp_six,short,imp_six@example.com,Weak,Password,IMP006,Computer Science,");
+
+        ImportJob job = new ImportJob(Role.STUDENT, "students.csv");
+        bulkImportService.importRows(job, new BufferedReader(new StringReader(csv)));
+
+        assertEquals(6, job.getProcessedRows());
+        assertEquals(2, job.getImportedRows());
+        assertEquals(4, job.getErrorCount());
+        assertEquals(4, job.getErrors().get(0).getRow(), "Line numbers count the header");
+
+        Student imported = studentService.getStudentByStudentId("IMP002")
+                .flatMap(student -> studentService.getStudentProfile(student.getId()))
+                .orElseThrow();
+        assertEquals("Grace, M.", imported.getFirstName());
+        assertEquals("Computer Science", imported.getDepartment().getName());
+        assertTrue(passwordEncoder.matches("secret123",
+                userService.getUserByUsername("imp_two").orElseThrow().getPassword()));
+    }
+
+    @Test
+    void quotedFieldsSpanningLinesAreRejectedAsOneRecord() throws Exception {
+        String csv = String.join("\n",
+                "username,password,email,firstName,lastName,studentId,department,address",
+                "ml_one,secret123,ml_one@example.com,Multi,Line,ML001,Computer Science,\"12 Main St",
+                "ml_fake,secret123,ml_fake@example.com,Not,A Row,ML002,Computer Science,Springfield\"",
+                "ml_three,secret123,ml_three@example.com,Single,Line,ML003,Computer Science,\"1 \"\"Quoted\"\" Rd\"");
+
+        ImportJob job = new ImportJob(Role.STUDENT, "students.csv");
+        bulkImportService.importRows(job, new BufferedReader(new StringReader(csv)));
+
+        assertEquals(2, job.getProcessedRows());
+        assertEquals(1, job.getImportedRows());
+        assertEquals(1, job.getErrorCount());
+        assertEquals(2, job.getErrors().get(0).getRow());
+        assertTrue(userService.getUserByUsername("ml_fake").isEmpty(), "The continuation line is not imported");
+        assertEquals("1 \"Quoted\" Rd", studentService.getStudentByStudentId("ML003").orElseThrow().getAddress());
+    }
+
+    @Test
+    void aStrayQuoteRejectsOnlyItsOwnRow() throws Exception {
+        String csv = String.join("\n",
+                "username,password,email,firstName,lastName,studentId,department,address",
+                "sq_one,secret123,sq_one@example.com,Liam,O\"Brien,SQ001,Computer Science,",
+                "sq_two,secret123,sq_two@example.com,Next,Row,SQ002,Computer Science,\"1 Main St\"",
+                "sq_three,secret123,sq_three@example.com,Last,Row,SQ003,Computer Science,2 Main St");
+
+        ImportJob job = new ImportJob(Role.STUDENT, "students.csv");
+        bulkImportService.importRows(job, new BufferedReader(new StringReader(csv)));
+
+        assertEquals(3, job.getProcessedRows());
+        assertEquals(2, job.getImportedRows());
+        assertEquals(1, job.getErrorCount());
+        assertEquals(2, job.getErrors().get(0).getRow());
+        assertTrue(job.getErrors().get(0).getMessage().startsWith("Quote inside unquoted field 5"));
+        assertEquals("1 Main St", studentService.getStudentByStudentId("SQ002").orElseThrow().getAddress());
+    }
+
+    @Test
+    void spoolFileIsReadableByTheOwnerOnly() throws Exception {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        Path spool = BulkImportService.createSpoolFile();
+        try {
+            assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(spool));
+        } finally {
+            Files.delete(spool);
+        }
+    }
+
+    @Test
+    void missingColumnFailsTheWholeFile() {
+        ImportJob job = new ImportJob(Role.TEACHER, "teachers.csv");
+        String csv = "username,password,email,firstName,lastName,department\n";
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bulkImportService.importRows(job, new BufferedReader(new StringReader(csv))));
+    }
+}
@@ -0,0 +1,125 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.model.*;
+import com.student_management_system.niloy.repository.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs department retirements synchronously, in chunks of two rows, against H2.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:retirement",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "app.retirement.chunk-size=2",
+    "app.retirement.chunk-pause=0ms"
+})
+public class DepartmentRetirementServiceTest {
+
+    @Autowired
+    private DepartmentRetirementService departmentRetirementService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Test
+    void movesEveryMemberInChunksAndDeletesTheDepartment() {
+        Department retired = departmentRepository.save(new Department("Retired Move", "Being retired"));
+        Department target = departmentRepository.save(new Department("Target Move", "Takes over"));
+        List<Course> courses = populate(retired, "mv", 5, 3, 3);
+
+        DepartmentRetirementJob job = new DepartmentRetirementJob(retired.getId(), retired.getName(),
+                target.getId(), target.getName(), DepartmentRetirementJob.CourseHandling.MOVE);
+        departmentRetirementService.retire(job);
+
+        assertEquals(DepartmentRetirementJob.Status.COMPLETED, job.getStatus());
+        assertEquals(100, job.getPercentComplete());
+        assertEquals(5, job.getTotalStudents());
+        assertEquals(5, job.getMovedStudents());
+        assertEquals(3, job.getMovedTeachers());
+        assertEquals(3, job.getMovedCourses());
+        assertFalse(departmentRepository.existsById(retired.getId()));
+        assertEquals(5, studentRepository.countByDepartmentId(target.getId()));
+        assertEquals(3, teacherRepository.countByDepartmentId(target.getId()));
+        assertEquals(3, courseRepository.countByDepartmentId(target.getId()));
+        assertEquals(5, enrollmentRepository.countByCourseId(courses.get(0).getId()), "Enrollments are kept");
+    }
+
+    @Test
+    void archivedCoursesKeepTheirEnrollmentsWithoutADepartment() {
+        Department retired = departmentRepository.save(new Department("Retired Archive", "Being retired"));
+        Department target = departmentRepository.save(new Department("Target Archive", "Takes over"));
+        List<Course> courses = populate(retired, "ar", 3, 1, 4);
+
+        DepartmentRetirementJob job = new DepartmentRetirementJob(retired.getId(), retired.getName(),
+                target.getId(), target.getName(), DepartmentRetirementJob.CourseHandling.ARCHIVE);
+        departmentRetirementService.retire(job);
+
+        assertEquals(DepartmentRetirementJob.Status.COMPLETED, job.getStatus());
+        assertEquals(4, job.getMovedCourses());
+        assertFalse(departmentRepository.existsById(retired.getId()));
+        assertEquals(0, courseRepository.countByDepartmentId(target.getId()));
+        for (Course course : courses) {
+            assertNull(courseRepository.findById(course.getId()).orElseThrow().getDepartment());
+        }
+        assertEquals(3, enrollmentRepository.countByCourseId(courses.get(0).getId()));
+    }
+
+    @Test
+    void aDepartmentCannotBeRetiredIntoItself() {
+        Department department = departmentRepository.save(new Department("Retired Self", "Nowhere to go"));
+
+        assertThrows(RuntimeException.class, () -> departmentRetirementService.submit(department.getId(),
+                department.getId(), DepartmentRetirementJob.CourseHandling.MOVE));
+        assertThrows(RuntimeException.class, () -> departmentRetirementService.submit(department.getId(),
+                -1L, DepartmentRetirementJob.CourseHandling.MOVE));
+        assertTrue(departmentRepository.existsById(department.getId()));
+    }
+
+    /** Students, teachers and courses in the department, every student enrolled in the first course. */
+    private List<Course> populate(Department department, String prefix, int students, int teachers, int courseCount) {
+        List<Student> enrolled = new ArrayList<>();
+        for (int i = 1; i <= students; i++) {
+            User user = userRepository.save(new User(prefix + "student" + i, "secret123", prefix + "student" + i + "@test.com", Role.STUDENT));
+            enrolled.add(studentRepository.save(new Student(user, "First" + i, "Last" + i, prefix.toUpperCase() + "S" + i, department)));
+        }
+        for (int i = 1; i <= teachers; i++) {
+            User user = userRepository.save(new User(prefix + "teacher" + i, "secret123", prefix + "teacher" + i + "@test.com", Role.TEACHER));
+            teacherRepository.save(new Teacher(user, "First" + i, "Last" + i, prefix.toUpperCase() + "T" + i, department));
+        }
+        List<Course> courses = new ArrayList<>();
+        for (int i = 1; i <= courseCount; i++) {
+            Course course = new Course(prefix.toUpperCase() + "C" + i, "Course " + i, "Retirement test", 3);
+            course.setDepartment(department);
+            courses.add(courseRepository.save(course));
+        }
+        for (Student student : enrolled) {
+            enrollmentRepository.save(new Enrollment(student, courses.get(0)));
+        }
+        return courses;
+    }
+}
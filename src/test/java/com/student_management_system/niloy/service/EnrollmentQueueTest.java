@@ -0,0 +1,67 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.model.Course;
+import com.student_management_system.niloy.model.Student;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Queued enrollments against the seeded H2 database, with the queue switched on.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:queuetest",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "app.enrollment.async.enabled=true",
+    "app.enrollment.batch-linger=200ms"
+})
+public class EnrollmentQueueTest {
+
+    @Autowired
+    private EnrollmentQueue enrollmentQueue;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Test
+    void batchSettlesEveryTicket() throws InterruptedException {
+        Student student = studentService.getStudentByStudentId("S001").orElseThrow();
+        Course cse101 = courseService.getCourseByCourseCode("CSE101").orElseThrow();
+        Course eee101 = courseService.getCourseByCourseCode("EEE101").orElseThrow();
+
+        List<EnrollmentTicket> tickets = List.of(
+                enrollmentQueue.submit(student.getUser().getId(), student.getId(), cse101.getId()),
+                enrollmentQueue.submit(student.getUser().getId(), student.getId(), eee101.getId()),
+                enrollmentQueue.submit(student.getUser().getId(), student.getId(), -1L));
+        for (EnrollmentTicket ticket : tickets) {
+            awaitFinished(ticket);
+        }
+
+        assertEquals(EnrollmentTicket.Status.ENROLLED, tickets.get(0).getStatus());
+        assertEquals(EnrollmentTicket.Status.ENROLLED, tickets.get(1).getStatus());
+        assertEquals(EnrollmentTicket.Status.FAILED, tickets.get(2).getStatus(), "Unknown course must not fail the batch");
+        assertEquals(2, courseService.getCoursesByStudentId(student.getId()).size());
+
+        EnrollmentTicket again = enrollmentQueue.submit(student.getUser().getId(), student.getId(), cse101.getId());
+        awaitFinished(again);
+        assertEquals(EnrollmentTicket.Status.ALREADY_ENROLLED, again.getStatus());
+        assertSame(again, enrollmentQueue.getTicket(again.getId()).orElseThrow());
+    }
+
+    private static void awaitFinished(EnrollmentTicket ticket) throws InterruptedException {
+        for (int i = 0; i < 100 && !ticket.isFinished(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(ticket.isFinished(), "Ticket was not processed in time");
+    }
+}
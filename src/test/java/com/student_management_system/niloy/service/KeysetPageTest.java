@@ -0,0 +1,49 @@
+package com.student_management_system.niloy.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeysetPageTest {
+
+    private static final Sort SORT = Sort.by("lastName").and(Sort.by("id"));
+
+    @Test
+    void cursorKeepsTabsNewlinesAndTypes() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("lastName", "O'Brien\tJr.\nnull");
+        keys.put("id", 42L);
+
+        KeysetScrollPosition decoded = KeysetPage.decode(cursorFor(keys), SORT);
+
+        assertEquals(keys, decoded.getKeys());
+        assertInstanceOf(Long.class, decoded.getKeys().get("id"));
+    }
+
+    @Test
+    void cursorWithANullKeyStartsOver() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("lastName", null);
+        keys.put("id", 42L);
+
+        assertTrue(KeysetPage.decode(cursorFor(keys), SORT).isInitial());
+    }
+
+    @Test
+    void malformedCursorStartsOver() {
+        assertTrue(KeysetPage.decode("not a cursor", SORT).isInitial());
+    }
+
+    private static String cursorFor(Map<String, Object> keys) {
+        Window<String> window = Window.from(List.of("row"), index -> ScrollPosition.forward(keys), true);
+        return KeysetPage.of(window).getNextCursor();
+    }
+}
@@ -0,0 +1,99 @@
+package com.student_management_system.niloy.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.student_management_system.niloy.config.CacheConfig;
+import com.student_management_system.niloy.model.Course;
+import com.student_management_system.niloy.model.Department;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the opt-in reference data cache: repeated reads are served from the
+ * cache and every department or course write invalidates it.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:cachetest",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "app.cache.enabled=true"
+})
+public class ReferenceDataCacheTest {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private FragmentCache fragmentCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void departmentsAreCachedUntilAWriteEvictsThem() {
+        List<Department> first = departmentService.getAllDepartments();
+        List<Department> second = departmentService.getAllDepartments();
+        assertSame(first, second, "Second read should come from the cache");
+
+        departmentService.createDepartment(new Department("Cache Department", "Created by the cache test"));
+
+        List<Department> afterWrite = departmentService.getAllDepartments();
+        assertNotSame(first, afterWrite, "A write should evict the cached list");
+        assertEquals(first.size() + 1, afterWrite.size());
+
+        CacheStats stats = departmentStats();
+        assertTrue(stats.hitCount() >= 1, "Cache hits should be recorded");
+        assertTrue(stats.missCount() >= 2, "Cache misses should be recorded");
+    }
+
+    @Test
+    void renderedCatalogRowsAreReusedUntilACourseChanges() {
+        List<RenderedFragment> rows = fragmentCache.getCourseCatalogRows();
+        assertSame(rows, fragmentCache.getCourseCatalogRows(), "Second read should come from the cache");
+
+        assertEquals(courseService.getAllCourses().size(), rows.size());
+        for (RenderedFragment each : rows) {
+            assertTrue(each.html().startsWith("<tr>") && each.html().endsWith("</tr>"), each.html());
+            assertTrue(each.activeHtml().contains("/student/enroll/" + each.id() + "\""), each.activeHtml());
+        }
+        RenderedFragment row = rows.get(0);
+        assertTrue(row.html().contains("/student/enroll/" + row.id()));
+        assertFalse(row.render(false).contains("disabled"));
+        assertTrue(row.render(true).contains("disabled") && row.render(true).contains("Enrolled"));
+
+        Course course = courseService.getCourseById(row.id()).orElseThrow();
+        course.setCourseName("Renamed By Cache Test");
+        courseService.updateCourse(course.getId(), course);
+
+        List<RenderedFragment> afterWrite = fragmentCache.getCourseCatalogRows();
+        assertNotSame(rows, afterWrite, "A course write should evict the rendered rows");
+        assertTrue(afterWrite.get(0).html().contains("Renamed By Cache Test"));
+    }
+
+    @Test
+    void departmentOptionsMarkTheSelectedDepartment() {
+        RenderedFragment option = fragmentCache.getDepartmentOptions().get(0);
+        assertTrue(option.html().startsWith("<option") && option.html().contains("value=\"" + option.id() + "\""),
+                option.html());
+
+        assertFalse(option.renderFor(null).contains("selected"));
+        assertTrue(option.renderFor(option.id()).contains("selected=\"selected\""));
+    }
+
+    private CacheStats departmentStats() {
+        TransactionAwareCacheDecorator cache = (TransactionAwareCacheDecorator) cacheManager.getCache(CacheConfig.DEPARTMENTS);
+        return ((CaffeineCache) cache.getTargetCache()).getNativeCache().stats();
+    }
+}
@@ -0,0 +1,88 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.model.Course;
+import com.student_management_system.niloy.model.CourseSearchResult;
+import com.student_management_system.niloy.model.StudentSearchResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prefix search over the seeded data, and index updates from the course write path.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+public class SearchServiceTest {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @BeforeEach
+    void waitForTheIndex() throws InterruptedException {
+        assertTrue(searchService.awaitWarm(Duration.ofSeconds(30)), "The index is loaded in the background");
+    }
+
+    @Test
+    void matchesPrefixesOfNamesIdsAndEmails() {
+        assertEquals(List.of("S001"), studentIds("ali"));
+        assertEquals(List.of("S001"), studentIds("Alice Joh"));
+        assertEquals(List.of("S002"), studentIds("s002"));
+        assertEquals(List.of("S002"), studentIds("student2@example"));
+        assertTrue(studentIds("alice smith").isEmpty(), "Every word has to match");
+
+        assertEquals(List.of("CSE101", "CSE201"), courseCodes("cse"));
+        assertEquals(List.of("EEE101"), courseCodes("circuit theory"));
+    }
+
+    @Test
+    void pagesThroughHitsInOrder() {
+        Page<CourseSearchResult> first = searchService.searchCourses("c", PageRequest.of(0, 2));
+        Page<CourseSearchResult> second = searchService.searchCourses("c", PageRequest.of(1, 2));
+
+        assertEquals(3, first.getTotalElements());
+        assertEquals(List.of("CSE101", "CSE201"), first.map(CourseSearchResult::courseCode).getContent());
+        assertEquals(List.of("EEE101"), second.map(CourseSearchResult::courseCode).getContent());
+    }
+
+    @Test
+    void followsCourseWrites() {
+        Course course = courseService.createCourse(new Course("ZZZ900", "Search Index Testing", "Typeahead", 1));
+        try {
+            assertEquals(List.of("ZZZ900"), courseCodes("typeahead"));
+
+            Course details = new Course("ZZZ900", "Renamed Course", "Description", 1);
+            courseService.updateCourse(course.getId(), details);
+            assertTrue(courseCodes("typeahead").isEmpty(), "Old tokens are unlinked");
+            assertEquals(List.of("ZZZ900"), courseCodes("renamed"));
+        } finally {
+            courseService.deleteCourse(course.getId());
+        }
+        assertTrue(courseCodes("zzz").isEmpty());
+    }
+
+    private List<String> studentIds(String query) {
+        return searchService.searchStudents(query, PageRequest.of(0, 10))
+                .map(StudentSearchResult::studentId).getContent();
+    }
+
+    private List<String> courseCodes(String query) {
+        return searchService.searchCourses(query, PageRequest.of(0, 10))
+                .map(CourseSearchResult::courseCode).getContent();
+    }
+}
@@ -0,0 +1,106 @@
+package com.student_management_system.niloy.service;
+
+import com.student_management_system.niloy.model.Course;
+import com.student_management_system.niloy.model.Student;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Enrollment round trip against the seeded H2 database.
+ * Not @Transactional: enrollInCourse inserts in its own transaction, and the
+ * tests check what is committed.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.datasource.hikari.connection-timeout=1000"
+})
+public class StudentServiceIntegrationTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource pool;
+
+    @Test
+    void enrollIsIdempotentAndUnenrollRemovesTheRow() {
+        Student student = studentService.getStudentByStudentId("S002").orElseThrow();
+        Course course = courseService.getCourseByCourseCode("CSE201").orElseThrow();
+
+        assertTrue(studentService.enrollInCourse(student.getId(), course.getId()), "First enrollment should insert a row");
+        assertFalse(studentService.enrollInCourse(student.getId(), course.getId()), "Duplicate should be rejected by the unique constraint");
+
+        List<Course> courses = courseService.getCoursesByStudentId(student.getId());
+        assertEquals(1, courses.stream().filter(c -> c.getId().equals(course.getId())).count());
+
+        assertTrue(studentService.unenrollFromCourse(student.getId(), course.getId()));
+        assertFalse(studentService.unenrollFromCourse(student.getId(), course.getId()), "Nothing left to delete");
+        assertTrue(courseService.getCoursesByStudentId(student.getId()).isEmpty());
+    }
+
+    @Test
+    void aDuplicateDoesNotRollBackTheCallersTransaction() {
+        Student student = studentService.getStudentByStudentId("S002").orElseThrow();
+        Course course = courseService.getCourseByCourseCode("EEE101").orElseThrow();
+
+        Boolean duplicate = transactionTemplate.execute(status -> {
+            assertTrue(studentService.enrollInCourse(student.getId(), course.getId()));
+            boolean enrolled = studentService.enrollInCourse(student.getId(), course.getId());
+            assertFalse(status.isRollbackOnly());
+            return enrolled;
+        });
+
+        assertFalse(duplicate);
+        assertTrue(studentService.unenrollFromCourse(student.getId(), course.getId()), "The first enrollment was committed");
+    }
+
+    @Test
+    void anEnrollmentNeedsOnlyOneConnection() throws SQLException {
+        Student student = studentService.getStudentByStudentId("S002").orElseThrow();
+        Course course = courseService.getCourseByCourseCode("CSE201").orElseThrow();
+
+        // Every other request of a registration rush holds a connection already
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 1; i < pool.getMaximumPoolSize(); i++) {
+                held.add(pool.getConnection());
+            }
+            assertTrue(studentService.enrollInCourse(student.getId(), course.getId()));
+            assertFalse(studentService.enrollInCourse(student.getId(), course.getId()));
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+        assertTrue(studentService.unenrollFromCourse(student.getId(), course.getId()));
+    }
+
+    @Test
+    void enrollInMissingCourseFails() {
+        Student student = studentService.getStudentByStudentId("S002").orElseThrow();
+
+        assertThrows(RuntimeException.class, () -> studentService.enrollInCourse(student.getId(), -1L));
+    }
+}
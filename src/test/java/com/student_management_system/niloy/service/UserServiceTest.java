@@ -2,6 +2,7 @@ package com.student_management_system.niloy.service;
 
 import com.student_management_system.niloy.model.Role;
 import com.student_management_system.niloy.model.User;
+import com.student_management_system.niloy.repository.StudentRepository;
 import com.student_management_system.niloy.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,6 +48,10 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    // FAKE StudentRepository, used to resolve the profile id at login
+    @Mock
+    private StudentRepository studentRepository;
+
     // @InjectMocks creates a REAL UserService
     // But injects the FAKE repository into it
     @InjectMocks
@@ -133,6 +138,31 @@ public class UserServiceTest {
         // ASSERT: Should return true
         assertTrue(exists, "Username should exist");
     }
+
+    // ========================================
+    // Test 4: Login Principal Carries Profile Id
+    // ========================================
+    @Test
+    @DisplayName("Test 4: Should resolve user id, role and profile id at login")
+    void shouldResolveProfileIdAtLogin() {
+
+        // ARRANGE: The user exists and owns student profile 42
+        testUser.setPassword("hashed");
+        when(userRepository.findByUsername("student123"))
+            .thenReturn(Optional.of(testUser));
+        when(studentRepository.findIdByUserId(1L))
+            .thenReturn(Optional.of(42L));
+
+        // ACT: Spring Security calls this when the user logs in
+        AccountPrincipal principal = (AccountPrincipal) userService.loadUserByUsername("student123");
+
+        // ASSERT: Everything the controllers need is already in the principal
+        assertEquals(1L, principal.getUserId());
+        assertEquals(Role.STUDENT, principal.getRole());
+        assertEquals(42L, principal.getProfileId());
+        assertTrue(principal.getAuthorities().stream()
+            .anyMatch(a -> a.getAuthority().equals("ROLE_STUDENT")));
+    }
 }
 
 /**
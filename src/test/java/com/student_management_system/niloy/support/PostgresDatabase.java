@@ -0,0 +1,67 @@
+package com.student_management_system.niloy.support;
+
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A PostgreSQL server for the tests that need the real thing: the one at
+ * {@code -Dtest.postgresql.url} (a JDBC URL to any database on it, with
+ * {@code test.postgresql.username} and {@code test.postgresql.password}), otherwise a
+ * postgres:16 container when Docker is available. Tests are skipped when there is neither:
+ * annotate them with {@code @EnabledIf(PostgresDatabase.AVAILABLE)}.
+ *
+ * Each test class gets a database of its own, created empty by {@link #create(String)}.
+ */
+public final class PostgresDatabase {
+
+    public static final String AVAILABLE = "com.student_management_system.niloy.support.PostgresDatabase#isAvailable";
+
+    private static final String URL = System.getProperty("test.postgresql.url");
+
+    private static PostgreSQLContainer container;
+
+    private PostgresDatabase() {
+    }
+
+    public static boolean isAvailable() {
+        return URL != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    /** Drops the database if an earlier run left it behind, creates it and returns its JDBC URL. */
+    public static synchronized String create(String name) {
+        String serverUrl = serverUrl();
+        try (Connection connection = DriverManager.getConnection(serverUrl, username(), password());
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop database if exists " + name + " with (force)");
+            statement.execute("create database " + name);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create database " + name, e);
+        }
+        return serverUrl.replaceFirst("^(jdbc:postgresql://[^/]+/)[^?]*", "$1" + name);
+    }
+
+    public static String username() {
+        return URL != null ? System.getProperty("test.postgresql.username", "postgres") : container.getUsername();
+    }
+
+    public static String password() {
+        return URL != null ? System.getProperty("test.postgresql.password", "") : container.getPassword();
+    }
+
+    private static String serverUrl() {
+        if (URL != null) {
+            return URL;
+        }
+        if (container == null) {
+            // Stopped by Testcontainers' Ryuk when the test JVM exits
+            container = new PostgreSQLContainer("postgres:16");
+            container.start();
+        }
+        return container.getJdbcUrl();
+    }
+}
@@ -0,0 +1,119 @@
+package com.student_management_system.niloy.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records every SQL statement sent through the application's DataSource, by Hibernate and
+ * by JdbcTemplate alike, so tests can assert query budgets. A batch counts once per
+ * prepared statement, however many rows it carries.
+ *
+ * Installed on the DataSource by {@link QueryCountingConfiguration}. Statements from
+ * all threads are recorded, which includes async dispatches such as the streamed exports
+ * and background jobs, so tests using it must not run in parallel with other database work.
+ */
+public class SqlStatementCounter {
+
+    private static final Set<String> STATEMENT_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    private final List<String> statements = new ArrayList<>();
+
+    public synchronized void add(String sql) {
+        statements.add(sql);
+    }
+
+    public synchronized void reset() {
+        statements.clear();
+    }
+
+    public synchronized List<String> getStatements() {
+        return List.copyOf(statements);
+    }
+
+    public synchronized int getCount() {
+        return statements.size();
+    }
+
+    /**
+     * Runs the action and returns the statements it issued.
+     */
+    public List<String> record(ThrowingRunnable action) throws Exception {
+        reset();
+        action.run();
+        return getStatements();
+    }
+
+    /**
+     * Wraps the DataSource so that the SQL of every statement prepared or executed on its
+     * connections is recorded.
+     */
+    public DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return counting(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return counting(super.getConnection(username, password));
+            }
+        };
+    }
+
+    private Connection counting(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            if ((method.getName().startsWith("prepare")) && args != null && args[0] instanceof String sql) {
+                add(sql);
+            }
+        });
+    }
+
+    private Statement counting(Statement statement) {
+        return proxy(Statement.class, statement, (method, args) -> {
+            if (STATEMENT_METHODS.contains(method.getName()) && args != null && args[0] instanceof String sql) {
+                add(sql);
+            }
+        });
+    }
+
+    private <T> T proxy(Class<T> type, T target, Listener listener) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+            listener.invoked(method, args);
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            // Plain statements get their SQL at execute time rather than when they are created
+            if (result instanceof Statement statement && !(result instanceof PreparedStatement)) {
+                return counting(statement);
+            }
+            return result;
+        });
+        return type.cast(proxy);
+    }
+
+    @FunctionalInterface
+    private interface Listener {
+        void invoked(Method method, Object[] args);
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
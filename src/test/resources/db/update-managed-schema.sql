@@ -0,0 +1,38 @@
+-- A database as Hibernate's ddl-auto=update left it before Flyway took over the schema:
+-- identity ids, enrollments in the student_courses join table, no updated_at columns and
+-- generated constraint names. SchemaUpgradeTest migrates it.
+
+create table departments (id bigint generated by default as identity, description varchar(500), name varchar(255) not null unique, primary key (id));
+create table users (enabled boolean not null, id bigint generated by default as identity, username varchar(50) not null unique, email varchar(255) not null unique, password varchar(255) not null, role varchar(255) not null check (role in ('STUDENT','TEACHER')), primary key (id));
+create table students (department_id bigint not null, id bigint generated by default as identity, user_id bigint not null unique, address varchar(255), first_name varchar(255) not null, last_name varchar(255) not null, phone varchar(255), student_id varchar(255) unique, primary key (id));
+create table teachers (department_id bigint not null, id bigint generated by default as identity, user_id bigint not null unique, address varchar(255), employee_id varchar(255) unique, first_name varchar(255) not null, last_name varchar(255) not null, phone varchar(255), specialization varchar(255), primary key (id));
+create table courses (credits integer, department_id bigint, id bigint generated by default as identity, teacher_id bigint, description varchar(1000), course_code varchar(255) not null unique, course_name varchar(255) not null, primary key (id));
+create table student_courses (student_id bigint not null, course_id bigint not null);
+alter table if exists courses add constraint FK3lwkqe2ne54dg7fs2u6ll58ea foreign key (department_id) references departments;
+alter table if exists courses add constraint FK468oyt88pgk2a0cxrvxygadqg foreign key (teacher_id) references teachers;
+alter table if exists student_courses add constraint FKnjhkpm4kl9sjxymuxaspkmbmq foreign key (course_id) references courses;
+alter table if exists student_courses add constraint FK5fb1l2ar2u76r9hsmtw3eoh6x foreign key (student_id) references students;
+alter table if exists students add constraint FKn7f4gr7i9bbdyq6pbg5w4vcwp foreign key (department_id) references departments;
+alter table if exists students add constraint FKdt1cjx5ve5bdabmuuf3ibrwaq foreign key (user_id) references users;
+alter table if exists teachers add constraint FKqwpd4i6y8q4yxvg0bxv5nc1qv foreign key (department_id) references departments;
+alter table if exists teachers add constraint FKb8dct7w2j1njsbr3gd9oaqu5x foreign key (user_id) references users;
+
+insert into departments (name, description) values
+    ('Computer Science', 'Department of Computer Science and Engineering'),
+    ('Electrical Engineering', 'Department of Electrical and Electronic Engineering');
+insert into users (username, password, email, role, enabled) values
+    ('teacher1', 'not-a-hash', 'teacher@example.com', 'TEACHER', true),
+    ('student1', 'not-a-hash', 'student@example.com', 'STUDENT', true),
+    ('student2', 'not-a-hash', 'student2@example.com', 'STUDENT', true),
+    ('student3', 'not-a-hash', 'student3@example.com', 'STUDENT', true);
+insert into teachers (user_id, first_name, last_name, employee_id, department_id) values (1, 'John', 'Doe', 'T001', 1);
+insert into students (user_id, first_name, last_name, student_id, department_id) values
+    (2, 'Alice', 'Johnson', 'S001', 1),
+    (3, 'Bob', 'Williams', 'S002', 2),
+    (4, 'Carol', 'Davis', null, 2);
+insert into courses (course_code, course_name, credits, department_id, teacher_id) values
+    ('CSE101', 'Introduction to Programming', 3, 1, 1),
+    ('CSE201', 'Data Structures', 4, 1, 1),
+    ('EEE101', 'Circuit Analysis', 3, 2, null);
+-- The bag allowed the same pair twice
+insert into student_courses (student_id, course_id) values (1, 1), (1, 2), (1, 2), (2, 3);